@@ -0,0 +1,42 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+// Many concurrent, mostly idle clients, like the mobile apps: every VU keeps its keep-alive
+// connection open and only sends a query every few seconds. Start the service with
+// SPRING_PROFILES_ACTIVE=local,reactive and run the script once per path, then compare
+// http_req_duration p(95)/p(99), http_req_failed and the service's tomcat thread metrics:
+//
+//   k6 run -e JWT_TOKEN=$JWT_TOKEN -e QUERY_PATH=/api/v1/transactions kubernetes/reactive-benchmark.js
+//   k6 run -e JWT_TOKEN=$JWT_TOKEN -e QUERY_PATH=/api/v1/transactions/reactive kubernetes/reactive-benchmark.js
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const QUERY_PATH = __ENV.QUERY_PATH || '/api/v1/transactions/reactive';
+const JWT_TOKEN = __ENV.JWT_TOKEN;
+const CONNECTIONS = Number(__ENV.CONNECTIONS || 2000);
+const THINK_TIME = Number(__ENV.THINK_TIME || 5);
+
+export const options = {
+  scenarios: {
+    idle_clients: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: CONNECTIONS },
+        { duration: __ENV.DURATION || '2m', target: CONNECTIONS },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export default function() {
+  const res = http.get(
+    `${BASE_URL}${QUERY_PATH}?year=2024&month=8&page=0&size=20&baseCurrency=IDR`,
+    { headers: { Authorization: `Bearer ${JWT_TOKEN}` } });
+  check(res, {
+    'response code was 200': (r) => r.status === 200,
+  });
+  sleep(THINK_TIME * (0.5 + Math.random()));
+}
@@ -0,0 +1,38 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Throughput of the transactions query when every request waits on the rate provider.
+// Run it once against an instance started with VIRTUAL_THREADS=false and once with
+// VIRTUAL_THREADS=true, and compare http_reqs/s, p(95) duration and the failure rate
+// (platform mode queues requests once every Tomcat worker is busy).
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e JWT_TOKEN=$JWT_TOKEN kubernetes/transactions-benchmark.js
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const JWT_TOKEN = __ENV.JWT_TOKEN;
+const YEAR = __ENV.YEAR || '2024';
+const MONTH = __ENV.MONTH || '8';
+
+export const options = {
+  scenarios: {
+    queries: {
+      executor: 'constant-arrival-rate',
+      rate: Number(__ENV.RATE || 1000),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '60s',
+      preAllocatedVUs: 500,
+      maxVUs: 2000,
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export default function() {
+  const res = http.get(
+    `${BASE_URL}/api/v1/transactions?year=${YEAR}&month=${MONTH}&page=0&size=20&baseCurrency=IDR`,
+    { headers: { Authorization: `Bearer ${JWT_TOKEN}` } });
+  check(res, {
+    'response code was 200': (r) => r.status === 200,
+  });
+}
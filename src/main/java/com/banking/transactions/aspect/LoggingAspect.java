@@ -1,5 +1,6 @@
 package com.banking.transactions.aspect;
 
+import com.banking.transactions.config.AsyncContext;
 import com.banking.transactions.config.LoggingContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.opentelemetry.api.trace.Span;
@@ -22,10 +23,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Aspect
 @Component
@@ -71,12 +75,9 @@ public class LoggingAspect {
 
         // Proceed with the method execution and get the response
         Object response = joinPoint.proceed();
-        String responseString = Optional.ofNullable(response).map(this::writeAsString).orElse("");
 
         // Log Response
-        logger.info("[{}] {} | {} | RESPONSE: {}", request.getMethod(), request.getPath(), reqId, responseString);
-
-        return response;
+        return logResponse(logger, request, reqId, response);
     }
 
     @Around("classWithLogResponse()")
@@ -88,14 +89,37 @@ public class LoggingAspect {
 
         // Proceed with the method execution and get the response
         Object response = joinPoint.proceed();
-        String responseString = Optional.ofNullable(response).map(this::writeAsString).orElse("");
 
         // Log Response
-        logger.info("[{}] {} | {} | RESPONSE: {}", request.getMethod(), request.getPath(), reqId, responseString);
+        return logResponse(logger, request, reqId, response);
+    }
 
+    // an async handler returns before its body exists: log the body once it completes
+    private Object logResponse(Logger logger, RequestMetadata request, String reqId, Object response) {
+        if (response instanceof CompletableFuture<?> future) {
+            future.whenCompleteAsync((body, error) -> logOutcome(logger, request, reqId, body, error),
+                    AsyncContext.capture());
+            return future;
+        }
+        if (response instanceof Mono<?> mono) {
+            return mono
+                    .doOnSuccess(body -> logOutcome(logger, request, reqId, body, null))
+                    .doOnError(error -> logOutcome(logger, request, reqId, null, error));
+        }
+        logOutcome(logger, request, reqId, response, null);
         return response;
     }
 
+    private void logOutcome(Logger logger, RequestMetadata request, String reqId, Object body, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            logger.info("[{}] {} | {} | RESPONSE FAILED: {}", request.getMethod(), request.getPath(), reqId, cause.getMessage());
+            return;
+        }
+        String responseString = Optional.ofNullable(body).map(this::writeAsString).orElse("");
+        logger.info("[{}] {} | {} | RESPONSE: {}", request.getMethod(), request.getPath(), reqId, responseString);
+    }
+
     private String writeAsString(Object payload) {
         try {
             if (payload instanceof String) {
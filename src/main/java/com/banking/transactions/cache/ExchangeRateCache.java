@@ -0,0 +1,83 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.dto.RateKey;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of exchange rates keyed by (from, to, date).
+ * <p>
+ * Rates of past dates are final and never expire; rates of today or later may still move and expire after a
+ * short TTL. The cache holds futures, so concurrent misses on the same key share one upstream lookup.
+ */
+@Component
+public class ExchangeRateCache {
+
+    public static final String CACHE_NAME = "exchange-rate-cache";
+
+    private static final Duration NEVER_EXPIRES = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final AsyncCache<RateKey, BigDecimal> cache;
+
+    private final Clock clock;
+
+    private final Duration currentRateTtl;
+
+    @Autowired
+    public ExchangeRateCache(@Value("${transactions.rates.cache.max-size:100000}") long maxSize,
+                             @Value("${transactions.rates.cache.current-rate-ttl:1m}") Duration currentRateTtl,
+                             MeterRegistry meterRegistry) {
+        this(maxSize, currentRateTtl, meterRegistry, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    ExchangeRateCache(long maxSize, Duration currentRateTtl, MeterRegistry meterRegistry, Clock clock, Ticker ticker) {
+        this.clock = clock;
+        this.currentRateTtl = currentRateTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .expireAfter(Expiry.writing((RateKey key, BigDecimal rate) -> ttl(key)))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CompletableFuture<BigDecimal> get(RateKey key, Function<RateKey, CompletableFuture<BigDecimal>> loader) {
+        return cache.get(key, (k, executor) -> loader.apply(k));
+    }
+
+    /**
+     * Returns every requested rate, loading only the keys that are neither cached nor already in flight,
+     * in one call to {@code loader}.
+     */
+    public CompletableFuture<Map<RateKey, BigDecimal>> getAll(
+            Collection<RateKey> keys,
+            Function<Set<RateKey>, CompletableFuture<Map<RateKey, BigDecimal>>> loader) {
+        return cache.getAll(keys, (missing, executor) -> loader.apply(Set.copyOf(missing)));
+    }
+
+    private Duration ttl(RateKey key) {
+        if (key.date().isBefore(LocalDate.now(clock))) {
+            // historical rates never change; size-based eviction still bounds the cache
+            return NEVER_EXPIRES;
+        }
+        return currentRateTtl;
+    }
+}
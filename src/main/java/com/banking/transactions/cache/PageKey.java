@@ -0,0 +1,13 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.store.TransactionKeyCodec;
+
+public record PageKey(String customerId,
+                      int year, int month,
+                      int page, int size,
+                      String baseCurrency) {
+
+    public String monthKey() {
+        return TransactionKeyCodec.monthKey(customerId, year, month);
+    }
+}
@@ -0,0 +1,143 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of {@link TransactionPageResponse} invalidated per customer-month by the stream topology.
+ * <p>
+ * Entries are weighed by an estimate of their serialized size. Each customer-month maps to a generation
+ * stripe that is bumped on invalidation; a page computed while its stripe moved is returned but not cached,
+ * so a read racing a write can never pin stale data.
+ */
+@Component
+@Slf4j
+public class TransactionPageCache {
+
+    public static final String CACHE_NAME = "transactions-page-cache";
+
+    private static final int GENERATION_STRIPES = 1024;
+    private static final int BASE_WEIGHT_BYTES = 512;
+    private static final int ROW_WEIGHT_BYTES = 384;
+
+    private final Cache<PageKey, TransactionPageResponse> cache;
+
+    private final ConcurrentHashMap<String, Set<PageKey>> keysByMonth = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public TransactionPageCache(@Value("${transactions.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                                @Value("${transactions.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                                MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher(TransactionPageCache::weigh)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(Runnable::run)
+                .removalListener((PageKey key, TransactionPageResponse value, RemovalCause cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        unindex(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public TransactionPageResponse get(PageKey key, Supplier<TransactionPageResponse> loader) {
+        TransactionPageResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.get(stripe(key.monthKey()));
+        TransactionPageResponse response = loader.get();
+        cacheIfCurrent(key, generation, response);
+        return response;
+    }
+
+    /**
+     * Same as {@link #get} for a loader that completes asynchronously; the generation is taken before the
+     * load starts, so an invalidation arriving while it is in flight still keeps its result out.
+     */
+    public CompletableFuture<TransactionPageResponse> getAsync(PageKey key,
+                                                               Supplier<CompletableFuture<TransactionPageResponse>> loader) {
+        TransactionPageResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        long generation = generations.get(stripe(key.monthKey()));
+        return loader.get().thenApply(response -> {
+            cacheIfCurrent(key, generation, response);
+            return response;
+        });
+    }
+
+    /**
+     * Drops every cached page of the given {@code customerId:yyyy-MM}.
+     */
+    public void invalidateMonth(String monthKey) {
+        generations.incrementAndGet(stripe(monthKey));
+        Optional.ofNullable(keysByMonth.remove(monthKey)).ifPresent(cache::invalidateAll);
+    }
+
+    /**
+     * Drops every cached page. Used when tasks move between instances: a month this instance no longer
+     * hosts is invalidated by its new owner's writes, never here.
+     */
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        keysByMonth.clear();
+        cache.invalidateAll();
+    }
+
+    private void cacheIfCurrent(PageKey key, long generation, TransactionPageResponse response) {
+        String monthKey = key.monthKey();
+        // a page degraded by a rate timeout is served once, the next request retries the conversion
+        int stripe = stripe(monthKey);
+        if (generations.get(stripe) == generation && !response.isRatesUnavailable()) {
+            keysByMonth.computeIfAbsent(monthKey, k -> ConcurrentHashMap.newKeySet()).add(key);
+            cache.put(key, response);
+            // an invalidation landing between the check and the put may have missed this entry; the
+            // generation is bumped before keys are dropped, so checking it again after the put catches that
+            if (generations.get(stripe) != generation) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    private void unindex(PageKey key) {
+        keysByMonth.computeIfPresent(key.monthKey(), (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static int stripe(String monthKey) {
+        return Math.floorMod(monthKey.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static int weigh(PageKey key, TransactionPageResponse response) {
+        int rows = Optional.ofNullable(response.getTransactions()).map(List::size).orElse(0);
+        return BASE_WEIGHT_BYTES + rows * ROW_WEIGHT_BYTES;
+    }
+}
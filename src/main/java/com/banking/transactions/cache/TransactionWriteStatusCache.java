@@ -0,0 +1,45 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.dto.TransactionWriteStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Recent write statuses by tracking id, so a client answered with 202 can look up how its write ended.
+ * <p>
+ * Statuses are kept per instance for {@code expire-after-write}; a lookup on another instance or after
+ * that finds nothing, and the transaction itself is then the source of truth.
+ */
+@Component
+public class TransactionWriteStatusCache {
+
+    public static final String CACHE_NAME = "transaction-write-status-cache";
+
+    private final Cache<String, TransactionWriteStatus> cache;
+
+    public TransactionWriteStatusCache(@Value("${transactions.ingest.status.max-size:100000}") long maxSize,
+                                       @Value("${transactions.ingest.status.expire-after-write:10m}") Duration expireAfterWrite,
+                                       MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public void put(TransactionWriteStatus status) {
+        cache.put(status.getTrackingId(), status);
+    }
+
+    public Optional<TransactionWriteStatus> get(String trackingId) {
+        return Optional.ofNullable(cache.getIfPresent(trackingId));
+    }
+}
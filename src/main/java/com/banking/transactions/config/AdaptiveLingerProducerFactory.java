@@ -0,0 +1,189 @@
+package com.banking.transactions.config;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hands out one of two producers that differ only in {@code linger.ms}: the steady one while sends are
+ * sparse, the burst one, with a wider linger, once the send rate reaches {@code burstRate} per second.
+ * <p>
+ * A producer's linger is fixed when it is created, so the wider linger comes from a second producer
+ * rather than from reconfiguring the first. The template runs every send through {@link #send}, which is
+ * where the rate is measured; it is recomputed once per {@code window} and falls back to steady below half
+ * the burst rate, so it does not flap at the threshold.
+ * <p>
+ * An upsert sends a transaction id again, and two producers give no order between them. A key with a record
+ * still unanswered therefore stays on the producer that record went through, whatever the mode; it follows
+ * the switch once Kafka has answered. Neither measuring nor switching ever blocks a send.
+ */
+public class AdaptiveLingerProducerFactory<K, V> implements ProducerFactory<K, V>, DisposableBean {
+
+    private final DefaultKafkaProducerFactory<K, V> steady;
+
+    private final DefaultKafkaProducerFactory<K, V> burst;
+
+    private final double burstRate;
+
+    private final long windowNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final LongAdder sends = new LongAdder();
+
+    private final AtomicLong windowStart;
+
+    private final Map<K, Pin> pins = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Boolean> pinnedToBurst = new ThreadLocal<>();
+
+    private volatile double sendRate;
+
+    private volatile boolean bursting;
+
+    private volatile boolean steadyUsed;
+
+    private volatile boolean burstUsed;
+
+    public AdaptiveLingerProducerFactory(DefaultKafkaProducerFactory<K, V> steady,
+                                         DefaultKafkaProducerFactory<K, V> burst,
+                                         double burstRate, Duration window) {
+        this(steady, burst, burstRate, window, System::nanoTime);
+    }
+
+    AdaptiveLingerProducerFactory(DefaultKafkaProducerFactory<K, V> steady,
+                                  DefaultKafkaProducerFactory<K, V> burst,
+                                  double burstRate, Duration window, LongSupplier nanoClock) {
+        this.steady = steady;
+        this.burst = burst;
+        this.burstRate = burstRate;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Runs one send of the template for {@code key}: through the producer of the key's unanswered records if
+     * it has any, otherwise through the current one.
+     */
+    public <R> CompletableFuture<R> send(K key, Supplier<CompletableFuture<R>> send) {
+        recordSend();
+        if (key == null) {
+            return send.get();
+        }
+        boolean burstPin = pins.compute(key, (k, pin) -> pin == null ? new Pin(bursting) : pin.acquire()).burst;
+        pinnedToBurst.set(burstPin);
+        CompletableFuture<R> result;
+        try {
+            result = send.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        } finally {
+            pinnedToBurst.remove();
+        }
+        result.whenComplete((ignored, error) -> release(key));
+        return result;
+    }
+
+    @Override
+    public Producer<K, V> createProducer() {
+        Boolean pinned = pinnedToBurst.get();
+        if (pinned != null ? pinned : bursting) {
+            burstUsed = true;
+            return burst.createProducer();
+        }
+        steadyUsed = true;
+        return steady.createProducer();
+    }
+
+    /**
+     * Sends whatever either producer still holds; a template flush would only reach the current one. A
+     * producer never handed out is not created for it.
+     */
+    public void flush() {
+        if (steadyUsed) {
+            steady.createProducer().flush();
+        }
+        if (burstUsed) {
+            burst.createProducer().flush();
+        }
+    }
+
+    private void recordSend() {
+        sends.increment();
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            double rate = sends.sumThenReset() * 1e9 / (now - start);
+            sendRate = rate;
+            bursting = rate >= (bursting ? burstRate / 2 : burstRate);
+        }
+    }
+
+    private void release(K key) {
+        pins.computeIfPresent(key, (k, pin) -> pin.release());
+    }
+
+    /**
+     * The producer a key's unanswered records went through and how many there are.
+     */
+    private record Pin(boolean burst, int unanswered) {
+
+        Pin(boolean burst) {
+            this(burst, 1);
+        }
+
+        Pin acquire() {
+            return new Pin(burst, unanswered + 1);
+        }
+
+        Pin release() {
+            return unanswered == 1 ? null : new Pin(burst, unanswered - 1);
+        }
+    }
+
+    public boolean isBursting() {
+        return bursting;
+    }
+
+    /**
+     * Sends per second over the last completed window.
+     */
+    public double sendRate() {
+        return sendRate;
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        steady.addListener(listener);
+        burst.addListener(listener);
+    }
+
+    @Override
+    public Map<String, Object> getConfigurationProperties() {
+        return steady.getConfigurationProperties();
+    }
+
+    @Override
+    public void reset() {
+        steady.reset();
+        burst.reset();
+    }
+
+    @Override
+    public void destroy() {
+        steady.destroy();
+        burst.destroy();
+    }
+}
@@ -0,0 +1,48 @@
+package com.banking.transactions.config;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Carries the caller's trace context and MDC into code that runs later on another thread: HTTP client and
+ * producer callbacks, and the {@link java.util.concurrent.CompletableFuture} stages completed by them.
+ * <p>
+ * An executor wrapping the context at submit time would pick up the context of the I/O thread that
+ * completes the future. {@link #capture()} takes it when the stage is built instead, on the request thread.
+ */
+public final class AsyncContext {
+
+    private AsyncContext() {
+    }
+
+    /**
+     * Executor that runs each task at once on the submitting thread, inside the trace context and MDC of
+     * the thread calling this method. Pass it to the {@code *Async} stages of a future completed on an I/O
+     * thread, or run callbacks through it.
+     */
+    public static Executor capture() {
+        Context context = Context.current();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return task -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            restore(mdc);
+            try (Scope ignored = context.makeCurrent()) {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.banking.transactions.config;
 
+import com.banking.transactions.dto.ExchangeRate;
 import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.store.TransactionSerializer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,20 +17,145 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Configuration
 public class KafkaTemplateConfig {
 
+    static final String PRODUCER_METRIC_TAG = "producer";
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${transactions.producer.profile:high-throughput}")
+    private String producerProfile;
+
+    @Value("${transactions.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${transactions.producer.batch-size:#{null}}")
+    private Integer batchSize;
+
+    @Value("${transactions.producer.compression-type:#{null}}")
+    private String compressionType;
+
+    @Value("${transactions.producer.max-in-flight:#{null}}")
+    private Integer maxInFlight;
+
+    @Value("${transactions.producer.max-block:2s}")
+    private Duration maxBlock;
+
+    @Value("${transactions.producer.adaptive.enabled:false}")
+    private boolean adaptive;
+
+    @Value("${transactions.producer.adaptive.burst-rate:2000}")
+    private double burstRate;
+
+    @Value("${transactions.producer.adaptive.burst-linger-ms:25}")
+    private int burstLingerMs;
+
+    @Value("${transactions.producer.adaptive.window:1s}")
+    private Duration adaptiveWindow;
+
+    @Bean
+    public ProducerFactory<String, Transaction> transactionProducerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> config = transactionProducerConfig();
+
+        if (!adaptive) {
+            return meteredProducerFactory(config, meterRegistry, "transactions");
+        }
+
+        Map<String, Object> burstConfig = new HashMap<>(config);
+        burstConfig.put(ProducerConfig.LINGER_MS_CONFIG,
+                Math.max(burstLingerMs, (Integer) config.get(ProducerConfig.LINGER_MS_CONFIG)));
+        AdaptiveLingerProducerFactory<String, Transaction> factory = new AdaptiveLingerProducerFactory<>(
+                meteredProducerFactory(config, meterRegistry, "transactions"),
+                meteredProducerFactory(burstConfig, meterRegistry, "transactions-burst"),
+                burstRate, adaptiveWindow);
+        Gauge.builder("transactions.producer.send.rate", factory, AdaptiveLingerProducerFactory::sendRate)
+                .description("Transaction sends per second over the last adaptive linger window")
+                .register(meterRegistry);
+        Gauge.builder("transactions.producer.bursting", factory, f -> f.isBursting() ? 1 : 0)
+                .description("1 while sends go through the wide-linger burst producer")
+                .register(meterRegistry);
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, Transaction> transactionKafkaTemplate(
+            ProducerFactory<String, Transaction> transactionProducerFactory) {
+        if (transactionProducerFactory instanceof AdaptiveLingerProducerFactory<String, Transaction> adaptiveFactory) {
+            return new KafkaTemplate<>(adaptiveFactory) {
+                @Override
+                protected CompletableFuture<SendResult<String, Transaction>> doSend(
+                        ProducerRecord<String, Transaction> record, Observation observation) {
+                    return adaptiveFactory.send(record.key(), () -> super.doSend(record, observation));
+                }
+
+                @Override
+                public void flush() {
+                    adaptiveFactory.flush();
+                }
+            };
+        }
+        return new KafkaTemplate<>(transactionProducerFactory);
+    }
+
+    /**
+     * Connection and serializers, then the selected {@link ProducerProfile}, then any single setting
+     * overridden under {@code transactions.producer}.
+     */
+    Map<String, Object> transactionProducerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TransactionSerializer.class);
+        config.putAll(ProducerProfile.parse(producerProfile).settings());
+
+        putIfSet(config, ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        putIfSet(config, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfSet(config, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        putIfSet(config, ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlight);
+        // send() runs on the request thread: bound how long it may wait for metadata or buffer space
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlock.toMillis());
+
+        // the producer itself would only refuse this on the first send
+        if ((Integer) config.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION)
+                > ProducerProfile.MAX_IDEMPOTENT_IN_FLIGHT) {
+            throw new IllegalStateException("transactions.producer.max-in-flight must be at most "
+                    + ProducerProfile.MAX_IDEMPOTENT_IN_FLIGHT + " with idempotence enabled");
+        }
+        return config;
+    }
+
+    /**
+     * Binds the producer's own metrics, such as {@code kafka.producer.batch.size.avg} and
+     * {@code kafka.producer.record.queue.time.avg}, to the registry served by {@code /actuator/metrics}.
+     */
+    private static <V> DefaultKafkaProducerFactory<String, V> meteredProducerFactory(
+            Map<String, Object> config, MeterRegistry meterRegistry, String producer) {
+        DefaultKafkaProducerFactory<String, V> factory = new DefaultKafkaProducerFactory<>(config);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of(PRODUCER_METRIC_TAG, producer))));
+        return factory;
+    }
+
+    private static void putIfSet(Map<String, Object> config, String key, Object value) {
+        if (value != null) {
+            config.put(key, value);
+        }
+    }
+
     @Bean
-    public ProducerFactory<String, Transaction> transactionProducerFactory() {
+    public ProducerFactory<String, ExchangeRate> rateProducerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -33,8 +165,8 @@ public class KafkaTemplateConfig {
     }
 
     @Bean
-    public KafkaTemplate<String, Transaction> transactionKafkaTemplate() {
-        return new KafkaTemplate<>(transactionProducerFactory());
+    public KafkaTemplate<String, ExchangeRate> rateKafkaTemplate() {
+        return new KafkaTemplate<>(rateProducerFactory());
     }
 
     @Bean
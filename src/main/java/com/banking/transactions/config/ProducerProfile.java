@@ -0,0 +1,64 @@
+package com.banking.transactions.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named batching settings of the transactions producer, chosen with {@code transactions.producer.profile}.
+ * <p>
+ * Both keep idempotence on with {@code acks=all} and at most 5 requests in flight, the most an idempotent
+ * producer allows while still keeping retries in order. They differ in how long a record may wait for
+ * others to share its batch.
+ */
+public enum ProducerProfile {
+
+    /**
+     * Sends as soon as the sender thread is free: lowest latency for a trickle of single writes.
+     */
+    LOW_LATENCY(0, 16_384, "none"),
+
+    /**
+     * Waits a few milliseconds to fill large, compressed batches: fewer requests and bytes under bursts.
+     */
+    HIGH_THROUGHPUT(10, 131_072, "lz4");
+
+    static final int MAX_IDEMPOTENT_IN_FLIGHT = 5;
+
+    private final int lingerMs;
+
+    private final int batchSize;
+
+    private final String compressionType;
+
+    ProducerProfile(int lingerMs, int batchSize, String compressionType) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+    }
+
+    public static ProducerProfile parse(String value) {
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "transactions.producer.profile must be low-latency or high-throughput, was " + value, e);
+        }
+    }
+
+    /**
+     * The producer settings of this profile, to be merged over the connection and serializer settings.
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        settings.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        settings.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        settings.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        settings.put(ProducerConfig.ACKS_CONFIG, "all");
+        settings.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, MAX_IDEMPOTENT_IN_FLIGHT);
+        return settings;
+    }
+}
@@ -0,0 +1,52 @@
+package com.banking.transactions.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RateProviderConfig {
+
+    @Value("${transactions.rates.provider.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${transactions.rates.provider.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${transactions.rates.provider.read-timeout:5s}")
+    private Duration readTimeout;
+
+    // Non-blocking, pooled client for the exchange-rate provider. An https provider URL negotiates HTTP/2
+    // through ALPN, so concurrent batches are multiplexed on one connection instead of each holding its own;
+    // a plain http URL, such as the local stub, stays on HTTP/1.1
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient rateHttpClient() {
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .build();
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .build();
+        client.start();
+        return client;
+    }
+}
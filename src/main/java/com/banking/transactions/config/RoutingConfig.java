@@ -0,0 +1,77 @@
+package com.banking.transactions.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+@Configuration
+public class RoutingConfig {
+
+    @Value("${transactions.routing.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${transactions.routing.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${transactions.routing.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${transactions.routing.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${transactions.routing.queue-capacity:500}")
+    private int queueCapacity;
+
+    // Pooled, keep-alive client for forwarding interactive queries to the instance owning a key
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient peerHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestClient peerRestClient(RestClient.Builder builder, CloseableHttpClient peerHttpClient) {
+        return builder
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(peerHttpClient))
+                .build();
+    }
+
+    // Runs the async forwarded queries: one thread per pooled connection, and a bounded queue behind them
+    @Bean
+    public ThreadPoolTaskExecutor peerQueryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConnections);
+        executor.setMaxPoolSize(maxConnections);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("peer-query-");
+        // submitted from the request thread, so that is the trace and MDC to carry over
+        executor.setTaskDecorator(task -> {
+            Executor callerContext = AsyncContext.capture();
+            return () -> callerContext.execute(task);
+        });
+        return executor;
+    }
+}
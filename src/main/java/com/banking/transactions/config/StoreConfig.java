@@ -1,38 +1,110 @@
 package com.banking.transactions.config;
 
+import com.banking.transactions.cache.TransactionPageCache;
+import com.banking.transactions.dto.ExchangeRate;
 import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.store.CustomerMonthPartitioner;
+import com.banking.transactions.store.MonthTotals;
+import com.banking.transactions.store.TransactionRekeyProcessor;
+import com.banking.transactions.store.TransactionSerde;
+import com.banking.transactions.store.TransactionStoreProcessor;
 import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.kstream.Consumed;
 import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Repartitioned;
 import org.apache.kafka.streams.state.Stores;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBeanConfigurer;
 import org.springframework.kafka.support.serializer.JsonSerde;
 
 @Configuration
 public class StoreConfig {
     public static final String TRANSACTION_TOPIC = "transactions";
     public static final String STORE_NAME = "transactions-store";
+    public static final String KEY_INDEX_STORE_NAME = "transactions-key-index-store";
+    public static final String MONTH_COUNT_STORE_NAME = "transactions-month-count-store";
+    public static final String MONTH_SUMMARY_STORE_NAME = "transactions-month-summary-store";
+    public static final String RATES_TOPIC = "rates";
+    public static final String RATES_STORE_NAME = "rates-store";
+    public static final String RATES_SOURCE_STORE = "store";
+    private static final String REPARTITION_NAME = "transactions-by-customer-month";
 
     @Autowired
-    public void buildTransactionsTable(StreamsBuilder builder) {
-        var serde = new JsonSerde<>(Transaction.class);
-
-        builder.stream(TRANSACTION_TOPIC,
-                        Consumed.with(Serdes.String(), serde))
-                .selectKey((k, v) -> {
-                    // rekey by customerId:year-month:transactionId
-                    String month = v.getValueDate().getYear() + "-" +
-                            String.format("%02d", v.getValueDate().getMonthValue());
-                    return v.getCustomerId() + ":" + month + ":" + v.getId();
-                })
-                .toTable(
-                        Materialized.<String, Transaction>as(
-                                        Stores.persistentKeyValueStore(STORE_NAME))
+    public void buildTransactionsTable(StreamsBuilder builder, TransactionPageCache pageCache) {
+        // binary on the way out, binary or legacy JSON on the way in
+        var serde = new TransactionSerde();
+
+        // transaction id -> current store key, partitioned like the topic
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(KEY_INDEX_STORE_NAME), Serdes.String(), Serdes.String()));
+
+        // rows, rows per customerId:year-month, and credit/debit totals per customerId:year-month, currency and
+        // value date; rows decode on first access, so paging past them stays on raw bytes
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                        Stores.persistentKeyValueStore(STORE_NAME), Serdes.String(), TransactionSerde.lazy())
+                .withCachingEnabled());
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                        Stores.persistentKeyValueStore(MONTH_COUNT_STORE_NAME), Serdes.String(), Serdes.Long())
+                .withCachingEnabled());
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                        Stores.persistentKeyValueStore(MONTH_SUMMARY_STORE_NAME), Serdes.String(),
+                        new JsonSerde<>(MonthTotals.class))
+                .withCachingEnabled());
+
+        builder.stream(TRANSACTION_TOPIC, Consumed.with(Serdes.String(), serde))
+                // rekey by customerId:year-month:invertedValueDate:transactionId (newest first),
+                // with a tombstone for the previous key when an upsert changes the value date
+                .process(() -> new TransactionRekeyProcessor(KEY_INDEX_STORE_NAME), KEY_INDEX_STORE_NAME)
+                // co-locate a customer-month on one partition so a single instance can answer its queries
+                .repartition(
+                        Repartitioned.<String, Transaction>as(REPARTITION_NAME)
                                 .withKeySerde(Serdes.String())
                                 .withValueSerde(serde)
-                );
+                                .withStreamPartitioner(new CustomerMonthPartitioner<>())
+                )
+                // one task keeps rows, count and totals of the month, and drops its cached pages once they changed
+                .process(() -> new TransactionStoreProcessor(STORE_NAME, MONTH_COUNT_STORE_NAME,
+                                MONTH_SUMMARY_STORE_NAME, pageCache::invalidateMonth),
+                        STORE_NAME, MONTH_COUNT_STORE_NAME, MONTH_SUMMARY_STORE_NAME);
+    }
 
+    /**
+     * Clears the page cache whenever tasks may move. Only the instance running a customer-month's task sees its
+     * writes, so pages cached before a rebalance would never be invalidated once the task runs elsewhere, and
+     * would be served again if it comes back. Static, so the listener does not need the topology built first.
+     */
+    @Bean
+    public static StreamsBuilderFactoryBeanConfigurer pageCacheRebalanceListener(TransactionPageCache pageCache) {
+        return factory -> factory.setStateListener((newState, oldState) -> {
+            // entering: tasks are about to be revoked; leaving: pages cached meanwhile may belong to moved tasks
+            if (newState == KafkaStreams.State.REBALANCING || oldState == KafkaStreams.State.REBALANCING) {
+                pageCache.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Rates global table, only built when rates are served from the store: a global table has to be
+     * bootstrapped from the brokers before the streams instance starts.
+     */
+    @Autowired
+    public void buildRatesTable(StreamsBuilder builder,
+                                @Value("${transactions.rates.source:provider}") String ratesSource) {
+        if (!RATES_SOURCE_STORE.equals(ratesSource)) {
+            return;
+        }
+        // every instance keeps all rates, keyed by from:to:yyyy-MM-dd, so conversion never leaves the process
+        var rateSerde = new JsonSerde<>(ExchangeRate.class);
+        builder.globalTable(RATES_TOPIC,
+                Consumed.with(Serdes.String(), rateSerde),
+                Materialized.<String, ExchangeRate>as(
+                                Stores.persistentKeyValueStore(RATES_STORE_NAME))
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(rateSerde));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.banking.transactions.controller;
+
+
+import com.banking.transactions.annotations.LogRequestResponse;
+import com.banking.transactions.dto.MonthSummary;
+import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.routing.RemoteQueryClient;
+import com.banking.transactions.service.impl.TransactionsQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Peer-to-peer endpoints used by {@link RemoteQueryClient}. They always answer from the local stores and never
+ * route again, so a forwarded query takes at most one hop.
+ */
+@Hidden
+@RestController
+@RequestMapping(RemoteQueryClient.INTERNAL_PATH)
+@RequiredArgsConstructor
+@LogRequestResponse
+public class InternalQueryController {
+
+    private final TransactionsQueryService localQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public ResponseEntity<TransactionPageResponse> getTransactions(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam int page,
+            @RequestParam int size,
+            @RequestParam String baseCurrency,
+            @RequestParam(required = false) Long maxLag) {
+
+        return ResponseEntity.ok(localQueryService.getTransactions(customerId(jwt), year, month, page, size, baseCurrency, maxLag));
+    }
+
+    @GetMapping("/after")
+    public ResponseEntity<TransactionPageResponse> getTransactionsAfter(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam String cursor,
+            @RequestParam int size,
+            @RequestParam String baseCurrency,
+            @RequestParam(required = false) Long maxLag) {
+
+        return ResponseEntity.ok(localQueryService.getTransactionsAfter(customerId(jwt), year, month, cursor, size, baseCurrency, maxLag));
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<List<Transaction>> readMonthRange(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+
+        return ResponseEntity.ok(localQueryService.readMonthRange(customerId(jwt), year, month, from, to, cursor, limit));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<MonthSummary> getMonthSummary(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam String baseCurrency) {
+
+        return ResponseEntity.ok(localQueryService.getMonthSummary(customerId(jwt), year, month, baseCurrency));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam String baseCurrency) {
+
+        String customerId = customerId(jwt);
+        StreamingResponseBody body = NdjsonResponseBody.of(objectMapper, batchConsumer ->
+                localQueryService.streamTransactions(customerId, year, month, baseCurrency, batchConsumer));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private String customerId(JwtAuthenticationToken jwt) {
+        return jwt.getToken().getClaimAsString("user_id");
+    }
+}
@@ -0,0 +1,33 @@
+package com.banking.transactions.controller;
+
+import com.banking.transactions.dto.TransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+final class NdjsonResponseBody {
+
+    private static final byte NEWLINE = '\n';
+
+    private NdjsonResponseBody() {
+    }
+
+    // one JSON document per line, flushed after every batch handed over by the producer
+    static StreamingResponseBody of(ObjectMapper objectMapper, Consumer<Consumer<List<TransactionDTO>>> producer) {
+        return out -> producer.accept(batch -> {
+            try {
+                for (TransactionDTO dto : batch) {
+                    out.write(objectMapper.writeValueAsBytes(dto));
+                    out.write(NEWLINE);
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
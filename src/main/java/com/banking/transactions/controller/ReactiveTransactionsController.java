@@ -0,0 +1,48 @@
+package com.banking.transactions.controller;
+
+
+import com.banking.transactions.annotations.LogRequestResponse;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.service.ITransactionsQueryService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transactions query answered asynchronously: the request thread reads the page from the store and is
+ * released while the exchange rates are fetched, the response is written when they arrive.
+ */
+@RestController
+@RequestMapping("/api/v1/transactions/reactive")
+@Profile("reactive")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerJWT")
+@LogRequestResponse
+public class ReactiveTransactionsController {
+
+    private final ITransactionsQueryService queryService;
+
+    @GetMapping
+    public Mono<ResponseEntity<TransactionPageResponse>> getTransactions(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "IDR") String baseCurrency,
+            @RequestParam(required = false) String cursor) {
+
+        String customerId = jwt.getToken().getClaimAsString("user_id");
+        return Mono.fromFuture(() -> cursor == null
+                        ? queryService.getTransactionsAsync(customerId, year, month, page, size, baseCurrency)
+                        : queryService.getTransactionsAfterAsync(customerId, year, month, cursor, size, baseCurrency))
+                .map(ResponseEntity::ok);
+    }
+}
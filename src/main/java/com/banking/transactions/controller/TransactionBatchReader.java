@@ -0,0 +1,154 @@
+package com.banking.transactions.controller;
+
+import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionBatchRow;
+import com.banking.transactions.exception.ApiException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the items of a batch body one at a time, as a JSON array or as NDJSON, and validates each with the
+ * constraints of {@link Transaction}, so a batch is never held in memory as a whole.
+ * <p>
+ * A malformed or invalid item is a rejected row and reading goes on. A syntax error that breaks the array
+ * and an item beyond {@code maxItems} are rejected rows that end the batch; the items before them are
+ * still stored.
+ */
+final class TransactionBatchReader implements Iterator<TransactionBatchRow> {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxItems;
+    private final JsonParser arrayParser;
+    private final BufferedReader lines;
+
+    private TransactionBatchRow next;
+    private int index;
+    private boolean done;
+
+    private TransactionBatchReader(ObjectMapper objectMapper, Validator validator, int maxItems,
+                                   JsonParser arrayParser, BufferedReader lines) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxItems = maxItems;
+        this.arrayParser = arrayParser;
+        this.lines = lines;
+    }
+
+    static TransactionBatchReader ndjson(ObjectMapper objectMapper, Validator validator, int maxItems,
+                                         InputStream body) {
+        return new TransactionBatchReader(objectMapper, validator, maxItems, null,
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    static TransactionBatchReader array(ObjectMapper objectMapper, Validator validator, int maxItems,
+                                        InputStream body) throws IOException {
+        JsonParser parser = objectMapper.createParser(body);
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ApiException("Batch body must be a JSON array", 400);
+            }
+        } catch (JsonParseException e) {
+            throw new ApiException("Batch body must be a JSON array", 400);
+        }
+        return new TransactionBatchReader(objectMapper, validator, maxItems, parser, null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = arrayParser != null ? readArrayItem() : readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public TransactionBatchRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TransactionBatchRow row = next;
+        next = null;
+        return row;
+    }
+
+    private TransactionBatchRow readArrayItem() throws IOException {
+        JsonNode item;
+        try {
+            JsonToken token = arrayParser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                done = true;
+                return null;
+            }
+            if (index == maxItems) {
+                return stop("Batch exceeds " + maxItems + " items, the rest was not read");
+            }
+            item = objectMapper.readTree(arrayParser);
+        } catch (JsonParseException e) {
+            return stop("Malformed JSON, the rest was not read: " + e.getOriginalMessage());
+        }
+        if (!item.isObject()) {
+            return TransactionBatchRow.rejected(index++, null, "Item must be a JSON object");
+        }
+        try {
+            return validated(index++, objectMapper.treeToValue(item, Transaction.class));
+        } catch (JsonProcessingException e) {
+            return TransactionBatchRow.rejected(index - 1, null, "Malformed transaction: " + e.getOriginalMessage());
+        }
+    }
+
+    private TransactionBatchRow readLine() throws IOException {
+        String line;
+        do {
+            line = lines.readLine();
+        } while (line != null && line.isBlank());
+        if (line == null) {
+            done = true;
+            return null;
+        }
+        if (index == maxItems) {
+            return stop("Batch exceeds " + maxItems + " items, the rest was not read");
+        }
+        try {
+            return validated(index++, objectMapper.readValue(line, Transaction.class));
+        } catch (JsonProcessingException e) {
+            return TransactionBatchRow.rejected(index - 1, null, "Malformed transaction: " + e.getOriginalMessage());
+        }
+    }
+
+    private TransactionBatchRow validated(int itemIndex, Transaction transaction) {
+        var violations = validator.validate(transaction);
+        if (violations.isEmpty()) {
+            return TransactionBatchRow.valid(itemIndex, transaction);
+        }
+        String error = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return TransactionBatchRow.rejected(itemIndex, transaction, error);
+    }
+
+    private TransactionBatchRow stop(String error) {
+        done = true;
+        return TransactionBatchRow.rejected(index, null, error);
+    }
+}
@@ -0,0 +1,56 @@
+package com.banking.transactions.controller;
+
+
+import com.banking.transactions.dto.TransactionBatchResponse;
+import com.banking.transactions.service.IStoreTransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bulk ingestion: many transactions per request instead of one, for backfills.
+ * <p>
+ * The request thread reads the body; waiting for Kafka's acknowledgements does not hold it.
+ * <p>
+ * Not annotated with {@code @LogRequestResponse}: the body is read as a stream and the per-item results
+ * grow with the batch, so logging them would cost more than the request.
+ */
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerJWT")
+public class TransactionsBatchController {
+
+    private final IStoreTransactionService storeTransactionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    @Value("${transactions.ingest.max-batch-size:10000}")
+    private final int maxBatchSize;
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<TransactionBatchResponse>> storeTransactions(
+            @RequestHeader("Content-Type") MediaType contentType,
+            InputStream body) throws IOException {
+
+        TransactionBatchReader rows = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? TransactionBatchReader.ndjson(objectMapper, validator, maxBatchSize, body)
+                : TransactionBatchReader.array(objectMapper, validator, maxBatchSize, body);
+
+        return storeTransactionService.storeTransactions(rows).thenApply(ResponseEntity::ok);
+    }
+}
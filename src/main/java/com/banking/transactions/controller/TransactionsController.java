@@ -2,22 +2,40 @@ package com.banking.transactions.controller;
 
 
 import com.banking.transactions.annotations.LogRequestResponse;
+import com.banking.transactions.cache.TransactionWriteStatusCache;
+import com.banking.transactions.config.AsyncContext;
+import com.banking.transactions.dto.MonthSummary;
 import com.banking.transactions.dto.Transaction;
 import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.dto.TransactionWrite;
+import com.banking.transactions.dto.TransactionWriteStatus;
+import com.banking.transactions.dto.WriteAck;
+import com.banking.transactions.exception.ApiException;
 import com.banking.transactions.service.IStoreTransactionService;
 import com.banking.transactions.service.ITransactionsQueryService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @RestController
 @RequestMapping("/api/v1/transactions")
 @RequiredArgsConstructor
@@ -29,6 +47,14 @@ public class TransactionsController {
 
     private final IStoreTransactionService storeTransactionService;
 
+    private final TransactionWriteStatusCache writeStatusCache;
+
+    @Value("${transactions.ingest.default-ack:sync}")
+    private final String defaultAck;
+
+    @Value("${transactions.ingest.ack-timeout:30s}")
+    private final Duration ackTimeout;
+
     @GetMapping
     public ResponseEntity<TransactionPageResponse> getTransactions(
             JwtAuthenticationToken jwt,
@@ -36,17 +62,88 @@ public class TransactionsController {
             @RequestParam int month,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "IDR") String baseCurrency) {
+            @RequestParam(defaultValue = "IDR") String baseCurrency,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long maxLag) {
 
-        TransactionPageResponse response =
-                queryService.getTransactions(jwt.getToken().getClaimAsString("user_id"), year, month, page, size, baseCurrency);
+        String customerId = jwt.getToken().getClaimAsString("user_id");
+        TransactionPageResponse response = cursor == null
+                ? queryService.getTransactions(customerId, year, month, page, size, baseCurrency, maxLag)
+                : queryService.getTransactionsAfter(customerId, year, month, cursor, size, baseCurrency, maxLag);
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/range")
+    public ResponseEntity<TransactionPageResponse> getTransactionsBetween(
+            JwtAuthenticationToken jwt,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "IDR") String baseCurrency,
+            @RequestParam(required = false) String cursor) {
+
+        String customerId = jwt.getToken().getClaimAsString("user_id");
+        return ResponseEntity.ok(queryService.getTransactionsBetween(customerId, from, to, cursor, size, baseCurrency));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<MonthSummary> getMonthSummary(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "IDR") String baseCurrency) {
+
+        String customerId = jwt.getToken().getClaimAsString("user_id");
+        return ResponseEntity.ok(queryService.getMonthSummary(customerId, year, month, baseCurrency));
+    }
+
+    /**
+     * With {@code ack=sync} the response waits for Kafka's acknowledgement, without holding a request
+     * thread; with {@code ack=async} it is 202 with a tracking id as soon as the producer has the record.
+     */
     @PostMapping
-    public ResponseEntity<String> storeTransaction(@RequestBody @Valid Transaction transaction) {
-        storeTransactionService.storeTransaction(transaction);
-        return ResponseEntity.ok("Transaction stored successfully");
+    public CompletableFuture<ResponseEntity<?>> storeTransaction(
+            @RequestBody @Valid Transaction transaction,
+            @RequestParam(required = false) String ack) {
+
+        WriteAck mode = WriteAck.parse(ack == null ? defaultAck : ack);
+        TransactionWrite write = storeTransactionService.storeTransaction(transaction);
+
+        if (mode == WriteAck.ASYNC) {
+            TransactionWriteStatus status = writeStatusCache.get(write.trackingId())
+                    .orElseGet(() -> write.outcome().getNow(null));
+            URI location = URI.create("/api/v1/transactions/writes/" + write.trackingId());
+            return CompletableFuture.completedFuture(ResponseEntity.accepted().location(location).body(status));
+        }
+
+        // time out a copy: the outcome itself stays open for the status endpoint
+        return write.outcome().copy()
+                .orTimeout(ackTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handleAsync((status, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        throw new ApiException("Transaction not acknowledged within " + ackTimeout
+                                + ", track it with id " + write.trackingId(), 504);
+                    }
+                    if (cause != null) {
+                        throw new ApiException("Transaction not stored: " + cause.getMessage(), 503);
+                    }
+                    if (status.getState() == TransactionWriteStatus.State.FAILED) {
+                        throw new ApiException("Transaction not stored: " + status.getError(), 503);
+                    }
+                    return ResponseEntity.ok("Transaction stored successfully");
+                }, AsyncContext.capture());
+    }
+
+    @GetMapping("/writes/{trackingId}")
+    public ResponseEntity<TransactionWriteStatus> getWriteStatus(JwtAuthenticationToken jwt,
+                                                                 @PathVariable String trackingId) {
+        String customerId = jwt.getToken().getClaimAsString("user_id");
+        // another customer's write answers like an unknown one, so tracking ids cannot be probed
+        return writeStatusCache.get(trackingId)
+                .filter(status -> customerId != null && customerId.equals(status.getCustomerId()))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ApiException("Unknown or expired tracking id " + trackingId, 404));
     }
 }
@@ -0,0 +1,45 @@
+package com.banking.transactions.controller;
+
+
+import com.banking.transactions.annotations.LogRequestResponse;
+import com.banking.transactions.service.ITransactionsQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerJWT")
+@LogRequestResponse
+public class TransactionsExportController {
+
+    private final ITransactionsQueryService queryService;
+
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            JwtAuthenticationToken jwt,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "IDR") String baseCurrency) {
+
+        String customerId = jwt.getToken().getClaimAsString("user_id");
+
+        StreamingResponseBody body = NdjsonResponseBody.of(objectMapper, batchConsumer ->
+                queryService.streamTransactions(customerId, year, month, baseCurrency, batchConsumer));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.transactions.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Month totals of one original currency")
+public class CurrencySummary {
+
+    @Schema(description = "Original transaction currency", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Total credit amount in the original currency")
+    private BigDecimal totalCredits;
+
+    @Schema(description = "Total debit amount in the original currency")
+    private BigDecimal totalDebits;
+
+    @Schema(description = "Number of credit transactions")
+    private long creditCount;
+
+    @Schema(description = "Number of debit transactions")
+    private long debitCount;
+}
@@ -0,0 +1,34 @@
+package com.banking.transactions.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Exchange rate published on the rates topic")
+public class ExchangeRate {
+
+    @Schema(description = "Source currency", example = "GBP")
+    private String from;
+
+    @Schema(description = "Target currency", example = "IDR")
+    private String to;
+
+    @Schema(description = "Date the rate applies to", example = "2020-10-01")
+    private LocalDate date;
+
+    @Schema(description = "Units of the target currency per unit of the source currency", example = "20512.35")
+    private BigDecimal rate;
+
+    public RateKey key() {
+        return new RateKey(from, to, date);
+    }
+}
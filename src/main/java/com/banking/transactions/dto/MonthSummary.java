@@ -0,0 +1,45 @@
+package com.banking.transactions.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary of all transactions of a month")
+public class MonthSummary {
+
+    @Schema(description = "Year of the summarized month", example = "2024")
+    private int year;
+
+    @Schema(description = "Summarized month (1-12)", example = "3")
+    private int month;
+
+    @Schema(description = "Total credit amount in base currency for the whole month")
+    private BigDecimal totalCredits;
+
+    @Schema(description = "Total debit amount in base currency for the whole month")
+    private BigDecimal totalDebits;
+
+    @Schema(description = "Net amount (credits - debits) for the whole month")
+    private BigDecimal netAmount;
+
+    @Schema(description = "Base currency used for calculations")
+    private String baseCurrency;
+
+    @Schema(description = "Number of transactions in the month")
+    private long transactionCount;
+
+    @Schema(description = "Totals per original currency, before conversion")
+    private List<CurrencySummary> currencies;
+
+    @Schema(description = "True when exchange rates were not available within the deadline; the converted totals are then null")
+    private boolean ratesUnavailable;
+}
@@ -19,10 +19,10 @@ public class PageInfo {
     @Schema(description = "Page size", example = "20")
     private int size;
 
-    @Schema(description = "Total number of elements", example = "150")
+    @Schema(description = "Total number of elements, -1 for date-range queries where it is not computed", example = "150")
     private long totalElements;
 
-    @Schema(description = "Total number of pages", example = "8")
+    @Schema(description = "Total number of pages, -1 for date-range queries where it is not computed", example = "8")
     private int totalPages;
 
     @Schema(description = "Whether this is the first page")
@@ -36,5 +36,8 @@ public class PageInfo {
 
     @Schema(description = "Whether there are previous elements")
     private boolean hasPrevious;
+
+    @Schema(description = "Opaque token for fetching the next page with keyset pagination, absent on the last page")
+    private String nextCursor;
 }
 
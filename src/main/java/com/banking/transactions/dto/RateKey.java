@@ -0,0 +1,16 @@
+package com.banking.transactions.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies one exchange rate: converting {@code from} into {@code to} on {@code date}.
+ */
+public record RateKey(String from, String to, LocalDate date) {
+
+    /**
+     * Key of the rate on the rates topic and in the rates store: {@code from:to:yyyy-MM-dd}.
+     */
+    public String storeKey() {
+        return from + ':' + to + ':' + date;
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.transactions.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one item of a transaction batch")
+public class TransactionBatchItemResult {
+
+    @Schema(description = "Zero-based position of the item in the batch body")
+    private int index;
+
+    @Schema(description = "Transaction identifier, when the item could be parsed")
+    private String id;
+
+    @Schema(description = "ACCEPTED: acknowledged by Kafka, REJECTED: malformed or invalid, FAILED: not acknowledged")
+    private Status status;
+
+    @Schema(description = "Reason the item was rejected or failed")
+    private String error;
+
+    public enum Status {
+        ACCEPTED, REJECTED, FAILED
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.transactions.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Per-item outcome of a transaction batch")
+public class TransactionBatchResponse {
+
+    @Schema(description = "Number of items read from the body")
+    private int received;
+
+    @Schema(description = "Number of items acknowledged by Kafka")
+    private int accepted;
+
+    @Schema(description = "Number of malformed or invalid items, not sent")
+    private int rejected;
+
+    @Schema(description = "Number of valid items Kafka did not acknowledge")
+    private int failed;
+
+    @Schema(description = "Outcome of every item, in body order")
+    private List<TransactionBatchItemResult> items;
+}
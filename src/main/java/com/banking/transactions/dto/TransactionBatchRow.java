@@ -0,0 +1,20 @@
+package com.banking.transactions.dto;
+
+/**
+ * One item of a batch body as read: the transaction when it parsed and validated, otherwise the reason it
+ * was rejected and, if it parsed, the transaction for its id.
+ */
+public record TransactionBatchRow(int index, Transaction transaction, String error) {
+
+    public static TransactionBatchRow valid(int index, Transaction transaction) {
+        return new TransactionBatchRow(index, transaction, null);
+    }
+
+    public static TransactionBatchRow rejected(int index, Transaction transaction, String error) {
+        return new TransactionBatchRow(index, transaction, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -23,4 +23,10 @@ public class TransactionPageResponse {
 
     @Schema(description = "Summary information for the current page")
     private PageSummary summary;
+
+    @Schema(description = "Changelog offsets the serving store copy was behind, present only when maxLag was requested", example = "0")
+    private Long storeLag;
+
+    @Schema(description = "True when exchange rates were not available within the deadline; converted amounts and summary totals are then null")
+    private boolean ratesUnavailable;
 }
@@ -0,0 +1,11 @@
+package com.banking.transactions.dto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A write handed to the producer: its tracking id right away and its outcome once Kafka answers. The
+ * outcome completes on the producer I/O thread with a STORED or FAILED status. It completes exceptionally,
+ * with the write tracked as FAILED, only when the producer refused the record before sending it.
+ */
+public record TransactionWrite(String trackingId, CompletableFuture<TransactionWriteStatus> outcome) {
+}
@@ -0,0 +1,42 @@
+package com.banking.transactions.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of one transaction write")
+public class TransactionWriteStatus {
+
+    @Schema(description = "Identifier to look the write up with", example = "2f1c0c9e-5a0e-4b7e-9a53-0a6d2c1b7e11")
+    private String trackingId;
+
+    @Schema(description = "Identifier of the written transaction", example = "89d3o179-abcd-465b-o9ee-e2d5f6ofEld46")
+    private String transactionId;
+
+    // owner of the write, checked on lookup and never returned: it is censored on the transaction too
+    @JsonIgnore
+    private String customerId;
+
+    @Schema(description = "PENDING until Kafka answers, then STORED or FAILED")
+    private State state;
+
+    @Schema(description = "Reason the write failed")
+    private String error;
+
+    @Schema(description = "Partition of the stored record")
+    private Integer partition;
+
+    @Schema(description = "Offset of the stored record")
+    private Long offset;
+
+    public enum State {
+        PENDING, STORED, FAILED
+    }
+}
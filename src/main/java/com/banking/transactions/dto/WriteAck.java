@@ -0,0 +1,20 @@
+package com.banking.transactions.dto;
+
+import com.banking.transactions.exception.ApiException;
+
+/**
+ * When a single-transaction write answers: {@code SYNC} once Kafka has acknowledged it, {@code ASYNC} with
+ * 202 and a tracking id as soon as it is handed to the producer.
+ */
+public enum WriteAck {
+    SYNC, ASYNC;
+
+    public static WriteAck parse(String value) {
+        for (WriteAck ack : values()) {
+            if (ack.name().equalsIgnoreCase(value)) {
+                return ack;
+            }
+        }
+        throw new ApiException("ack must be sync or async", 400);
+    }
+}
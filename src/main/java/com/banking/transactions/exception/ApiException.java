@@ -12,6 +12,11 @@ public class ApiException extends RuntimeException {
         this.httpCode = 500;
     }
 
+    public ApiException(String message, int httpCode) {
+        super(message);
+        this.httpCode = httpCode;
+    }
+
     public ApiException() {
         super("Something went wrong");
         this.httpCode = 500;
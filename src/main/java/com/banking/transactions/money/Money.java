@@ -0,0 +1,114 @@
+package com.banking.transactions.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-point money arithmetic on longs. An amount is a count of minor units of its currency, whose
+ * exponent is the currency's number of decimal digits. Rounding is always {@link #ROUNDING}.
+ * <p>
+ * Amounts and rates still arrive as {@link BigDecimal}, and results leave as one: a conversion reads the
+ * unscaled longs of its operands, multiplies and rounds them as longs, and {@link #toDecimal} builds the
+ * value the API returns. What this saves over {@code BigDecimal} arithmetic is the multiply, the
+ * {@code setScale} and the intermediate results, not an allocation per row.
+ */
+public final class Money {
+
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    // used for codes unknown to ISO 4217, and for those without minor units such as gold
+    private static final int DEFAULT_EXPONENT = 2;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    private static final Map<String, Integer> EXPONENTS = new ConcurrentHashMap<>();
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private Money() {
+    }
+
+    /**
+     * Number of decimal digits of the minor unit of {@code currency}: 2 for IDR or USD, 0 for JPY.
+     */
+    public static int exponent(String currency) {
+        return EXPONENTS.computeIfAbsent(currency, code -> {
+            try {
+                int digits = Currency.getInstance(code).getDefaultFractionDigits();
+                return digits < 0 ? DEFAULT_EXPONENT : digits;
+            } catch (IllegalArgumentException e) {
+                return DEFAULT_EXPONENT;
+            }
+        });
+    }
+
+    /**
+     * {@code amount * rate} in minor units with {@code exponent} digits. Equal to rounding the exact
+     * {@code BigDecimal} product; products beyond the range of a long are computed that way.
+     */
+    public static long convert(BigDecimal amount, BigDecimal rate, int exponent) {
+        try {
+            long product = Math.multiplyExact(unscaled(amount), unscaled(rate));
+            return rescale(product, amount.scale() + rate.scale(), exponent);
+        } catch (ArithmeticException e) {
+            return minorUnits(amount.multiply(rate), exponent);
+        }
+    }
+
+    /**
+     * {@code value} rounded to minor units with {@code exponent} digits.
+     */
+    public static long minorUnits(BigDecimal value, int exponent) {
+        return value.setScale(exponent, ROUNDING).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits, int exponent) {
+        return BigDecimal.valueOf(minorUnits, exponent);
+    }
+
+    /**
+     * Unscaled value of {@code value}, throwing {@link ArithmeticException} when it needs more than a long.
+     */
+    static long unscaled(BigDecimal value) {
+        if (value.scale() == 0) {
+            return value.longValueExact();
+        }
+        // moving the point to scale 0 allocates one compact BigDecimal; unscaledValue() would build a BigInteger
+        return value.scaleByPowerOfTen(value.scale()).longValueExact();
+    }
+
+    /**
+     * Re-expresses {@code unscaled * 10^-fromScale} with {@code toScale} digits, rounding when digits are dropped.
+     */
+    static long rescale(long unscaled, int fromScale, int toScale) {
+        int shift = fromScale - toScale;
+        if (shift <= 0) {
+            return Math.multiplyExact(unscaled, pow10(-shift));
+        }
+        if (shift >= POWERS_OF_TEN.length) {
+            return minorUnits(BigDecimal.valueOf(unscaled, fromScale), toScale);
+        }
+        long divisor = POWERS_OF_TEN[shift];
+        long quotient = unscaled / divisor;
+        long twiceRemainder = Math.abs(unscaled % divisor) * 2;
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0)) {
+            quotient += Long.signum(unscaled);
+        }
+        return quotient;
+    }
+
+    static long pow10(int exponent) {
+        if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("10^" + exponent + " does not fit a long");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.transactions.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Exact running sum of converted amounts ({@code amount * rate}), rounded only when read. Terms are kept
+ * unrounded on the largest scale seen so far, so the rounded total equals rounding the exact
+ * {@code BigDecimal} sum. Should the sum outgrow a long it continues as a {@link BigDecimal}.
+ */
+public final class MoneySum {
+
+    private long unscaled;
+    private int scale;
+    private BigDecimal overflow;
+
+    public void add(BigDecimal amount, BigDecimal rate) {
+        accumulate(amount, rate, false);
+    }
+
+    public void subtract(BigDecimal amount, BigDecimal rate) {
+        accumulate(amount, rate, true);
+    }
+
+    /**
+     * The sum in minor units with {@code exponent} digits.
+     */
+    public long toMinorUnits(int exponent) {
+        if (overflow == null) {
+            try {
+                return Money.rescale(unscaled, scale, exponent);
+            } catch (ArithmeticException e) {
+                return Money.minorUnits(BigDecimal.valueOf(unscaled, scale), exponent);
+            }
+        }
+        return Money.minorUnits(overflow, exponent);
+    }
+
+    private void accumulate(BigDecimal amount, BigDecimal rate, boolean negate) {
+        if (overflow == null) {
+            try {
+                long product = Math.multiplyExact(Money.unscaled(amount), Money.unscaled(rate));
+                int productScale = amount.scale() + rate.scale();
+                long sum = unscaled;
+                int sumScale = scale;
+                // align both terms on the larger scale, which keeps the sum exact
+                if (productScale > sumScale) {
+                    sum = Math.multiplyExact(sum, Money.pow10(productScale - sumScale));
+                    sumScale = productScale;
+                } else {
+                    product = Math.multiplyExact(product, Money.pow10(sumScale - productScale));
+                }
+                unscaled = negate ? Math.subtractExact(sum, product) : Math.addExact(sum, product);
+                scale = sumScale;
+                return;
+            } catch (ArithmeticException e) {
+                overflow = BigDecimal.valueOf(unscaled, scale);
+            }
+        }
+        BigDecimal product = amount.multiply(rate);
+        overflow = negate ? overflow.subtract(product) : overflow.add(product);
+    }
+}
@@ -0,0 +1,266 @@
+package com.banking.transactions.routing;
+
+import com.banking.transactions.dto.ApiResponse;
+import com.banking.transactions.dto.MonthSummary;
+import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionDTO;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.exception.ApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.streams.state.HostInfo;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Forwards interactive queries to the peer instance that owns the requested customer-month.
+ * The caller's bearer token is forwarded, so the peer authorizes the request exactly like the first hop.
+ * <p>
+ * A peer's error answer is rethrown as an {@link ApiException} with the peer's status and message, so a
+ * forwarded "Invalid cursor" stays a 400 and a peer that is rebalancing or too far behind stays a 503.
+ */
+@Component
+public class RemoteQueryClient {
+
+    public static final String INTERNAL_PATH = "/internal/v1/transactions";
+
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    private final RestClient restClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor peerQueryExecutor;
+
+    private final Duration queryTimeout;
+
+    public RemoteQueryClient(@Qualifier("peerRestClient") RestClient restClient,
+                             ObjectMapper objectMapper,
+                             @Qualifier("peerQueryExecutor") Executor peerQueryExecutor,
+                             @Value("${transactions.routing.query-timeout:10s}") Duration queryTimeout) {
+        this.objectMapper = objectMapper;
+        this.peerQueryExecutor = peerQueryExecutor;
+        this.queryTimeout = queryTimeout;
+        this.restClient = restClient.mutate()
+                .defaultStatusHandler(HttpStatusCode::isError, (request, response) -> rethrowPeerError(response))
+                .build();
+    }
+
+    public TransactionPageResponse getTransactions(HostInfo host,
+                                                   int year, int month,
+                                                   int page, int size,
+                                                   String baseCurrency,
+                                                   Long maxLag) {
+        return getTransactions(host, year, month, page, size, baseCurrency, maxLag, bearerToken());
+    }
+
+    public TransactionPageResponse getTransactionsAfter(HostInfo host,
+                                                        int year, int month,
+                                                        String cursor, int size,
+                                                        String baseCurrency,
+                                                        Long maxLag) {
+        return getTransactionsAfter(host, year, month, cursor, size, baseCurrency, maxLag, bearerToken());
+    }
+
+    /**
+     * Same query as {@link #getTransactions(HostInfo, int, int, int, int, String, Long)}, answered on the
+     * bounded peer-query pool so the caller's thread is free while the peer works.
+     */
+    public CompletableFuture<TransactionPageResponse> getTransactionsAsync(HostInfo host,
+                                                                       int year, int month,
+                                                                       int page, int size,
+                                                                       String baseCurrency) {
+        return callAsync(token -> getTransactions(host, year, month, page, size, baseCurrency, null, token));
+    }
+
+    public CompletableFuture<TransactionPageResponse> getTransactionsAfterAsync(HostInfo host,
+                                                                            int year, int month,
+                                                                            String cursor, int size,
+                                                                            String baseCurrency) {
+        return callAsync(token -> getTransactionsAfter(host, year, month, cursor, size, baseCurrency, null, token));
+    }
+
+    public List<Transaction> readMonthRange(HostInfo host,
+                                            int year, int month,
+                                            LocalDate from, LocalDate to,
+                                            String cursor, int limit) {
+        List<Transaction> rows = restClient.get()
+                .uri(uri(host, "/range", b -> b
+                        .queryParam("year", year)
+                        .queryParam("month", month)
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .queryParam("limit", limit)))
+                .header(HttpHeaders.AUTHORIZATION, bearerToken())
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<Transaction>>() {
+                });
+        return rows == null ? List.of() : rows;
+    }
+
+    public MonthSummary getMonthSummary(HostInfo host, int year, int month, String baseCurrency) {
+        return restClient.get()
+                .uri(uri(host, "/summary", b -> b
+                        .queryParam("year", year)
+                        .queryParam("month", month)
+                        .queryParam("baseCurrency", baseCurrency)))
+                .header(HttpHeaders.AUTHORIZATION, bearerToken())
+                .retrieve()
+                .body(MonthSummary.class);
+    }
+
+    public void streamTransactions(HostInfo host,
+                                   int year, int month,
+                                   String baseCurrency,
+                                   Consumer<List<TransactionDTO>> batchConsumer) {
+        restClient.get()
+                .uri(uri(host, "/export", b -> b
+                        .queryParam("year", year)
+                        .queryParam("month", month)
+                        .queryParam("baseCurrency", baseCurrency)))
+                .header(HttpHeaders.AUTHORIZATION, bearerToken())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        rethrowPeerError(response);
+                    }
+                    // relay the peer's NDJSON in bounded batches, never holding the whole month
+                    try (var reader = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        List<TransactionDTO> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (line.isBlank()) {
+                                continue;
+                            }
+                            batch.add(objectMapper.readValue(line, TransactionDTO.class));
+                            if (batch.size() == STREAM_BATCH_SIZE) {
+                                batchConsumer.accept(batch);
+                                batch = new ArrayList<>(STREAM_BATCH_SIZE);
+                            }
+                        }
+                        if (!batch.isEmpty()) {
+                            batchConsumer.accept(batch);
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    private TransactionPageResponse getTransactions(HostInfo host,
+                                                    int year, int month,
+                                                    int page, int size,
+                                                    String baseCurrency,
+                                                    Long maxLag,
+                                                    String token) {
+        return restClient.get()
+                .uri(uri(host, "", b -> b
+                        .queryParam("year", year)
+                        .queryParam("month", month)
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .queryParam("baseCurrency", baseCurrency)
+                        .queryParamIfPresent("maxLag", Optional.ofNullable(maxLag))))
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .retrieve()
+                .body(TransactionPageResponse.class);
+    }
+
+    private TransactionPageResponse getTransactionsAfter(HostInfo host,
+                                                         int year, int month,
+                                                         String cursor, int size,
+                                                         String baseCurrency,
+                                                         Long maxLag,
+                                                         String token) {
+        return restClient.get()
+                .uri(uri(host, "/after", b -> b
+                        .queryParam("year", year)
+                        .queryParam("month", month)
+                        .queryParam("cursor", cursor)
+                        .queryParam("size", size)
+                        .queryParam("baseCurrency", baseCurrency)
+                        .queryParamIfPresent("maxLag", Optional.ofNullable(maxLag))))
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .retrieve()
+                .body(TransactionPageResponse.class);
+    }
+
+    private <T> CompletableFuture<T> callAsync(Function<String, T> call) {
+        // the security context stays on the request thread: take the token before handing the call off
+        String token = bearerToken();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            peerQueryExecutor.execute(() -> {
+                try {
+                    result.complete(call.apply(token));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ApiException("Too many queries waiting on peer instances", 503));
+        }
+        return result
+                .orTimeout(queryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(error instanceof TimeoutException
+                        ? new ApiException("Peer instance did not answer within " + queryTimeout, 504)
+                        : error));
+    }
+
+    private void rethrowPeerError(ClientHttpResponse response) throws IOException {
+        int status = response.getStatusCode().value();
+        String message = "Peer instance answered " + status;
+        try {
+            // peers answer errors with the ApiResponse body written by GlobalControllerAdvice
+            ApiResponse<?> body = objectMapper.readValue(response.getBody(), ApiResponse.class);
+            if (body != null && body.getMessage() != null) {
+                message = body.getMessage();
+            }
+        } catch (IOException e) {
+            // not an ApiResponse, keep the status alone
+        }
+        throw new ApiException(message, status);
+    }
+
+    private Function<UriBuilder, URI> uri(HostInfo host, String path, Function<UriBuilder, UriBuilder> params) {
+        return b -> params.apply(b.scheme("http")
+                        .host(host.host())
+                        .port(host.port())
+                        .path(INTERNAL_PATH + path))
+                .build();
+    }
+
+    private String bearerToken() {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken jwt) {
+            return "Bearer " + jwt.getToken().getTokenValue();
+        }
+        throw new ApiException("Cannot forward query without the caller's token", 401);
+    }
+}
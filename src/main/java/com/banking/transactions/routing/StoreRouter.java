@@ -0,0 +1,136 @@
+package com.banking.transactions.routing;
+
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.exception.ApiException;
+import com.banking.transactions.store.CustomerMonthPartitioner;
+import com.banking.transactions.store.TransactionKeyCodec;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.LagInfo;
+import org.apache.kafka.streams.state.HostInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves which instance owns a customer-month in the partitioned stores.
+ * <p>
+ * Routing is only active when {@code application.server} is configured; without it every query is
+ * answered from the local stores, which is correct for a single instance.
+ * <p>
+ * Callers that pass a {@code maxLag} accept a standby or restoring copy that is at most that many
+ * changelog offsets behind, which keeps queries answering while the active task moves during a rebalance.
+ */
+@Component
+public class StoreRouter {
+
+    private final StreamsBuilderFactoryBean streamsFactory;
+
+    private final HostInfo self;
+
+    private final long lagRefreshNanos;
+
+    private final CustomerMonthPartitioner<Object> partitioner = new CustomerMonthPartitioner<>();
+
+    private volatile LagSnapshot lagSnapshot;
+
+    public StoreRouter(StreamsBuilderFactoryBean streamsFactory,
+                       @Value("${spring.kafka.streams.properties.application.server:}") String applicationServer,
+                       @Value("${transactions.standby.lag-refresh-interval:1s}") Duration lagRefreshInterval) {
+        this.streamsFactory = streamsFactory;
+        this.self = StringUtils.isBlank(applicationServer) ? null : HostInfo.buildFromEndpoint(applicationServer);
+        this.lagRefreshNanos = lagRefreshInterval.toNanos();
+    }
+
+    /**
+     * Instance holding the rows of the customer-month, or empty when this instance should answer.
+     */
+    public Optional<HostInfo> remoteTransactionsOwner(String customerId, int year, int month, Long maxLag) {
+        if (self == null) {
+            return Optional.empty();
+        }
+        return owner(StoreConfig.STORE_NAME, metadata(StoreConfig.STORE_NAME, customerId, year, month), maxLag);
+    }
+
+    /**
+     * Changelog offsets this instance's copy of the customer-month rows is behind the active.
+     */
+    public long transactionsLag(String customerId, int year, int month) {
+        return localLag(StoreConfig.STORE_NAME, metadata(StoreConfig.STORE_NAME, customerId, year, month));
+    }
+
+    /**
+     * Changelog offsets this instance's copy of the customer-month row count is behind the active.
+     */
+    public long monthCountLag(String customerId, int year, int month) {
+        return localLag(StoreConfig.MONTH_COUNT_STORE_NAME, metadata(StoreConfig.MONTH_COUNT_STORE_NAME, customerId, year, month));
+    }
+
+    private KeyQueryMetadata metadata(String storeName, String customerId, int year, int month) {
+        // row, count and totals stores all live in the customer-month partitioned sub-topology
+        String monthPrefix = TransactionKeyCodec.monthPrefix(customerId, year, month);
+        return streams().queryMetadataForKey(storeName, monthPrefix, partitioner);
+    }
+
+    private Optional<HostInfo> owner(String storeName, KeyQueryMetadata metadata, Long maxLag) {
+        if (!isAvailable(metadata)) {
+            if (maxLag != null) {
+                // no assignment yet; a local standby or restoring copy may still satisfy the bound
+                return Optional.empty();
+            }
+            throw new ApiException("Transactions store is rebalancing, please retry", 503);
+        }
+        HostInfo owner = metadata.activeHost();
+        if (self.equals(owner)) {
+            return Optional.empty();
+        }
+        if (maxLag != null && metadata.standbyHosts().contains(self)
+                && localLag(storeName, metadata) <= maxLag) {
+            return Optional.empty();
+        }
+        return Optional.of(owner);
+    }
+
+    private long localLag(String storeName, KeyQueryMetadata metadata) {
+        Map<Integer, LagInfo> partitions = storeLags().getOrDefault(storeName, Map.of());
+        if (isAvailable(metadata)) {
+            LagInfo lag = partitions.get(metadata.partition());
+            if (lag == null) {
+                throw new ApiException("Transactions store is not hosted on this instance, please retry", 503);
+            }
+            return lag.offsetLag();
+        }
+        // partition unknown while rebalancing, so only vouch for the worst local copy
+        return partitions.values().stream()
+                .mapToLong(LagInfo::offsetLag)
+                .max()
+                .orElseThrow(() -> new ApiException("Transactions store is rebalancing, please retry", 503));
+    }
+
+    private Map<String, Map<Integer, LagInfo>> storeLags() {
+        // computing lags asks the brokers for changelog end offsets, so share one snapshot between requests
+        LagSnapshot snapshot = lagSnapshot;
+        long now = System.nanoTime();
+        if (snapshot == null || now - snapshot.takenAt() >= lagRefreshNanos) {
+            snapshot = new LagSnapshot(now, streams().allLocalStorePartitionLags());
+            lagSnapshot = snapshot;
+        }
+        return snapshot.lags();
+    }
+
+    private static boolean isAvailable(KeyQueryMetadata metadata) {
+        return metadata != null && !KeyQueryMetadata.NOT_AVAILABLE.equals(metadata);
+    }
+
+    private KafkaStreams streams() {
+        return Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
+    }
+
+    private record LagSnapshot(long takenAt, Map<String, Map<Integer, LagInfo>> lags) {
+    }
+}
@@ -1,10 +1,27 @@
 package com.banking.transactions.service;
 
+import com.banking.transactions.dto.RateKey;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public interface IExchangeRateService {
 
     CompletableFuture<BigDecimal> getRateAsync(String fromCurrency, String toCurrency, LocalDate date);
+
+    /**
+     * Resolves every requested rate in one call; duplicate keys are looked up once.
+     */
+    CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys);
+
+    /**
+     * Like {@link #getRatesAsync(Collection)}, but gives up on whatever is not answered by {@code deadline}.
+     * Sources that never wait answer the same either way.
+     */
+    default CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys, RateDeadline deadline) {
+        return getRatesAsync(keys);
+    }
 }
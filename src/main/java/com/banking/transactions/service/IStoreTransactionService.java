@@ -1,8 +1,24 @@
 package com.banking.transactions.service;
 
 import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionBatchResponse;
+import com.banking.transactions.dto.TransactionBatchRow;
+import com.banking.transactions.dto.TransactionWrite;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 
 public interface IStoreTransactionService {
 
-    void storeTransaction(Transaction transaction);
+    /**
+     * Hands the transaction to the producer without waiting for Kafka; the returned write completes from
+     * the producer callback.
+     */
+    TransactionWrite storeTransaction(Transaction transaction);
+
+    /**
+     * Sends the valid rows as they are read; the returned response completes once Kafka acknowledged or
+     * failed every row sent. A body that cannot be read to its end is reported as a last rejected row.
+     */
+    CompletableFuture<TransactionBatchResponse> storeTransactions(Iterator<TransactionBatchRow> rows);
 }
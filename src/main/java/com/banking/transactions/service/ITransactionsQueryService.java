@@ -1,11 +1,56 @@
 package com.banking.transactions.service;
 
+import com.banking.transactions.dto.MonthSummary;
+import com.banking.transactions.dto.TransactionDTO;
 import com.banking.transactions.dto.TransactionPageResponse;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface ITransactionsQueryService {
 
     TransactionPageResponse getTransactions(String customerId,
                                                    int year, int month,
                                                    int page, int size,
+                                                   String baseCurrency,
+                                                   Long maxLag);
+
+    TransactionPageResponse getTransactionsAfter(String customerId,
+                                                 int year, int month,
+                                                 String cursor, int size,
+                                                 String baseCurrency,
+                                                 Long maxLag);
+
+    /**
+     * Non-blocking variant of {@link #getTransactions} without {@code maxLag}: the rows are read when called,
+     * the returned future completes once their rates arrived or the rate deadline passed.
+     */
+    CompletableFuture<TransactionPageResponse> getTransactionsAsync(String customerId,
+                                                                int year, int month,
+                                                                int page, int size,
+                                                                String baseCurrency);
+
+    /**
+     * Non-blocking variant of {@link #getTransactionsAfter} without {@code maxLag}.
+     */
+    CompletableFuture<TransactionPageResponse> getTransactionsAfterAsync(String customerId,
+                                                                     int year, int month,
+                                                                     String cursor, int size,
+                                                                     String baseCurrency);
+
+    TransactionPageResponse getTransactionsBetween(String customerId,
+                                                   LocalDate from, LocalDate to,
+                                                   String cursor, int size,
                                                    String baseCurrency);
+
+    MonthSummary getMonthSummary(String customerId,
+                                 int year, int month,
+                                 String baseCurrency);
+
+    void streamTransactions(String customerId,
+                            int year, int month,
+                            String baseCurrency,
+                            Consumer<List<TransactionDTO>> batchConsumer);
 }
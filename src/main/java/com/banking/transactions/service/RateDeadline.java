@@ -0,0 +1,31 @@
+package com.banking.transactions.service;
+
+import java.time.Duration;
+
+/**
+ * Point in time after which a request stops waiting for exchange rates. One is taken when the request starts
+ * and handed to every rate lookup it makes, so the lookups share one budget instead of each getting its own.
+ */
+public final class RateDeadline {
+
+    private final long deadlineNanos;
+
+    private RateDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RateDeadline after(Duration budget) {
+        return new RateDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Time left before the deadline, zero once it passed.
+     */
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+}
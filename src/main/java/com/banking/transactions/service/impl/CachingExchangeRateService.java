@@ -0,0 +1,52 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.cache.ExchangeRateCache;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.service.IExchangeRateService;
+import com.banking.transactions.service.RateDeadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entry point for exchange rates: answers from {@link ExchangeRateCache} and only asks the provider
+ * for rates that are neither cached nor already being fetched.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "transactions.rates.source", havingValue = "provider", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CachingExchangeRateService implements IExchangeRateService {
+
+    @Qualifier("exchangeRateService")
+    private final IExchangeRateService exchangeRateService;
+    private final ExchangeRateCache rateCache;
+
+    @Override
+    public CompletableFuture<BigDecimal> getRateAsync(String fromCurrency, String toCurrency, LocalDate date) {
+        return rateCache.get(new RateKey(fromCurrency, toCurrency, date),
+                key -> exchangeRateService.getRateAsync(key.from(), key.to(), key.date()));
+    }
+
+    @Override
+    public CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys) {
+        return rateCache.getAll(keys, exchangeRateService::getRatesAsync);
+    }
+
+    /**
+     * Misses are loaded under the caller's deadline. A later caller sharing the load gets its outcome; a load
+     * cut off by the deadline is not cached, so the next lookup of its keys asks the provider again.
+     */
+    @Override
+    public CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys, RateDeadline deadline) {
+        return rateCache.getAll(keys, missing -> exchangeRateService.getRatesAsync(missing, deadline));
+    }
+}
@@ -0,0 +1,128 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.service.IExchangeRateService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Publishes provider rates to the {@code rates} topic, so {@link StoreExchangeRateService} answers every
+ * query from the local rates table and never calls the provider itself.
+ * <p>
+ * Each run covers every pair of {@code transactions.rates.feeder.currencies} for today and the
+ * {@code backfill-days} before it. A past rate never changes, so one already in the rates table is not
+ * fetched again; today's rates are refreshed on every run. Replicas all run the feeder, but once one has
+ * published a past date the others find it in their copy of the table.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.rates.source", havingValue = StoreConfig.RATES_SOURCE_STORE)
+@Slf4j
+public class ExchangeRateFeeder {
+
+    private final StreamsBuilderFactoryBean streamsFactory;
+    private final IExchangeRateService provider;
+    private final KafkaTemplate<String, ExchangeRate> rateKafkaTemplate;
+    private final List<String> currencies;
+    private final int backfillDays;
+    private final Clock clock;
+
+    @Autowired
+    public ExchangeRateFeeder(StreamsBuilderFactoryBean streamsFactory,
+                              @Qualifier("exchangeRateService") IExchangeRateService provider,
+                              KafkaTemplate<String, ExchangeRate> rateKafkaTemplate,
+                              @Value("${transactions.rates.feeder.currencies}") List<String> currencies,
+                              @Value("${transactions.rates.feeder.backfill-days:30}") int backfillDays) {
+        this(streamsFactory, provider, rateKafkaTemplate, currencies, backfillDays, Clock.systemUTC());
+    }
+
+    ExchangeRateFeeder(StreamsBuilderFactoryBean streamsFactory,
+                       IExchangeRateService provider,
+                       KafkaTemplate<String, ExchangeRate> rateKafkaTemplate,
+                       List<String> currencies,
+                       int backfillDays,
+                       Clock clock) {
+        this.streamsFactory = streamsFactory;
+        this.provider = provider;
+        this.rateKafkaTemplate = rateKafkaTemplate;
+        this.currencies = currencies;
+        this.backfillDays = backfillDays;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${transactions.rates.feeder.initial-delay:10s}",
+            fixedDelayString = "${transactions.rates.feeder.interval:1m}")
+    public void feed() {
+        ReadOnlyKeyValueStore<String, ExchangeRate> store;
+        try {
+            store = ratesStore();
+        } catch (InvalidStateStoreException | IllegalStateException e) {
+            log.info("Rates store not queryable yet, skipping this feed: {}", e.getMessage());
+            return;
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        List<RateKey> keys = new ArrayList<>();
+        for (LocalDate date = today.minusDays(backfillDays); !date.isAfter(today); date = date.plusDays(1)) {
+            for (String from : currencies) {
+                for (String to : currencies) {
+                    RateKey key = new RateKey(from, to, date);
+                    if (!from.equals(to) && (date.equals(today) || store.get(key.storeKey()) == null)) {
+                        keys.add(key);
+                    }
+                }
+            }
+        }
+
+        Map<RateKey, BigDecimal> rates;
+        try {
+            rates = provider.getRatesAsync(keys).join();
+        } catch (CompletionException e) {
+            // queries keep answering from the table; missing rates stay unavailable until the next run
+            log.warn("Fetching {} rates to feed failed: {}", keys.size(), e.getCause().getMessage());
+            return;
+        }
+        rates.forEach(this::publish);
+        log.info("Fed {} rates up to {} to the rates topic", rates.size(), today);
+    }
+
+    private void publish(RateKey key, BigDecimal rate) {
+        ExchangeRate exchangeRate = ExchangeRate.builder()
+                .from(key.from())
+                .to(key.to())
+                .date(key.date())
+                .rate(rate)
+                .build();
+        rateKafkaTemplate.send(StoreConfig.RATES_TOPIC, key.storeKey(), exchangeRate);
+    }
+
+    private ReadOnlyKeyValueStore<String, ExchangeRate> ratesStore() {
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams())
+                .orElseThrow(() -> new IllegalStateException("Kafka Streams is not started"));
+        return streams.store(StoreQueryParameters.fromNameAndType(
+                StoreConfig.RATES_STORE_NAME,
+                QueryableStoreTypes.keyValueStore()
+        ));
+    }
+}
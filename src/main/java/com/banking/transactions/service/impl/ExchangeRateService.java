@@ -1,37 +1,188 @@
 package com.banking.transactions.service.impl;
 
+import com.banking.transactions.config.AsyncContext;
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.exception.ApiException;
 import com.banking.transactions.service.IExchangeRateService;
+import com.banking.transactions.service.RateDeadline;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Client of the external exchange-rate provider. Rates are requested in batches of pairs with
+ * {@code POST /rates}; the calls are non-blocking, so no thread waits for the provider's answer.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExchangeRateService implements IExchangeRateService {
 
-    @Async
+    public static final String RATES_PATH = "/rates";
+
+    private final CloseableHttpAsyncClient rateHttpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${transactions.rates.provider.url:http://localhost:8089}")
+    private final String providerUrl;
+
+    @Value("${transactions.rates.provider.max-pairs-per-call:100}")
+    private final int maxPairsPerCall;
+
     @Override
     public CompletableFuture<BigDecimal> getRateAsync(String fromCurrency, String toCurrency, LocalDate date) {
 
         if (fromCurrency.equals(toCurrency)) {
             return CompletableFuture.completedFuture(BigDecimal.ONE);
         }
-        // TODO: call real external API asynchronously (e.g. WebClient)
-        // For demo we simulate a delay
+        RateKey key = new RateKey(fromCurrency, toCurrency, date);
+        return getRatesAsync(List.of(key)).thenApply(rates -> rates.get(key));
+    }
+
+    @Override
+    public CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys) {
+        return fetchAll(keys, null);
+    }
+
+    /**
+     * Provider calls still running at {@code deadline} are aborted, which releases their connections.
+     */
+    @Override
+    public CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys, RateDeadline deadline) {
+        return fetchAll(keys, deadline);
+    }
+
+    private CompletableFuture<Map<RateKey, BigDecimal>> fetchAll(Collection<RateKey> keys, RateDeadline deadline) {
+
+        Map<RateKey, BigDecimal> rates = new HashMap<>();
+        Set<RateKey> missing = new LinkedHashSet<>();
+        for (RateKey key : keys) {
+            if (key.from().equals(key.to())) {
+                rates.put(key, BigDecimal.ONE);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(rates);
+        }
+        if (deadline != null && deadline.isExpired()) {
+            return CompletableFuture.failedFuture(new TimeoutException("Rate deadline passed before the provider was called"));
+        }
+
+        // batches are sent concurrently over the pooled connections
+        List<RateKey> pending = List.copyOf(missing);
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += maxPairsPerCall) {
+            List<RateKey> batch = pending.subList(from, Math.min(from + maxPairsPerCall, pending.size()));
+            calls.add(fetch(batch, deadline).thenAccept(batchRates -> {
+                synchronized (rates) {
+                    rates.putAll(batchRates);
+                }
+            }));
+        }
+        CompletableFuture<Map<RateKey, BigDecimal>> result = CompletableFuture
+                .allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> rates);
+        // a caller giving up aborts the calls still in flight
+        result.whenComplete((ignored, ex) -> {
+            if (result.isCancelled()) {
+                calls.forEach(call -> call.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Map<RateKey, BigDecimal>> fetch(List<RateKey> batch, RateDeadline deadline) {
+        SimpleHttpRequest request;
         try {
-            log.info("Simulating Get Rate Async");
-            Thread.sleep(500);
-            log.info("Finished Get Rate Async");
-        } catch (InterruptedException ignored) {
-            Thread.currentThread().interrupt();
+            request = SimpleRequestBuilder.post(providerUrl + RATES_PATH)
+                    .setBody(objectMapper.writeValueAsBytes(batch), ContentType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Map<RateKey, BigDecimal>> result = new CompletableFuture<>();
+        // the callbacks run on the client's I/O reactor: give them the caller's trace and MDC
+        Executor callerContext = AsyncContext.capture();
+        Future<SimpleHttpResponse> exchange = rateHttpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                callerContext.execute(() -> {
+                    try {
+                        result.complete(parse(batch, response));
+                    } catch (IOException | ApiException e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                callerContext.execute(() -> {
+                    log.warn("Rate provider call for {} pairs failed: {}", batch.size(), ex.getMessage());
+                    result.completeExceptionally(ex);
+                });
+            }
+
+            @Override
+            public void cancelled() {
+                callerContext.execute(() -> result.cancel(false));
+            }
+        });
+        if (deadline != null) {
+            result.orTimeout(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
         }
-        return CompletableFuture.completedFuture(BigDecimal.valueOf(1.1));
+        // cancelled by the caller or past the deadline: abort the exchange instead of letting it run on
+        result.whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
 
+    private Map<RateKey, BigDecimal> parse(List<RateKey> batch, SimpleHttpResponse response) throws IOException {
+        if (response.getCode() != HttpStatus.SC_OK) {
+            throw new ApiException("Rate provider answered " + response.getCode(), 502);
+        }
+        ExchangeRate[] answered = objectMapper.readValue(response.getBodyBytes(), ExchangeRate[].class);
+        if (answered.length != batch.size()) {
+            throw new ApiException("Rate provider answered " + answered.length + " of " + batch.size() + " rates", 502);
+        }
+        // the provider answers in request order
+        Map<RateKey, BigDecimal> rates = new HashMap<>();
+        for (int i = 0; i < answered.length; i++) {
+            rates.put(batch.get(i), answered[i].getRate());
+        }
+        return rates;
     }
 }
@@ -0,0 +1,102 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.dto.MonthSummary;
+import com.banking.transactions.dto.TransactionDTO;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.routing.RemoteQueryClient;
+import com.banking.transactions.routing.StoreRouter;
+import com.banking.transactions.service.ITransactionsQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Entry point for transaction queries: answers locally when this instance owns the customer-month,
+ * otherwise forwards the query to the owning instance.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class RoutingTransactionsQueryService implements ITransactionsQueryService {
+
+    private final TransactionsQueryService localQueryService;
+    private final StoreRouter storeRouter;
+    private final RemoteQueryClient remoteQueryClient;
+
+    @Override
+    public TransactionPageResponse getTransactions(String customerId,
+                                                   int year, int month,
+                                                   int page, int size,
+                                                   String baseCurrency,
+                                                   Long maxLag) {
+        return storeRouter.remoteTransactionsOwner(customerId, year, month, maxLag)
+                .map(host -> remoteQueryClient.getTransactions(host, year, month, page, size, baseCurrency, maxLag))
+                .orElseGet(() -> localQueryService.getTransactions(customerId, year, month, page, size, baseCurrency, maxLag));
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionsAfter(String customerId,
+                                                        int year, int month,
+                                                        String cursor, int size,
+                                                        String baseCurrency,
+                                                        Long maxLag) {
+        return storeRouter.remoteTransactionsOwner(customerId, year, month, maxLag)
+                .map(host -> remoteQueryClient.getTransactionsAfter(host, year, month, cursor, size, baseCurrency, maxLag))
+                .orElseGet(() -> localQueryService.getTransactionsAfter(customerId, year, month, cursor, size, baseCurrency, maxLag));
+    }
+
+    @Override
+    public CompletableFuture<TransactionPageResponse> getTransactionsAsync(String customerId,
+                                                                       int year, int month,
+                                                                       int page, int size,
+                                                                       String baseCurrency) {
+        return storeRouter.remoteTransactionsOwner(customerId, year, month, null)
+                .map(host -> remoteQueryClient.getTransactionsAsync(host, year, month, page, size, baseCurrency))
+                .orElseGet(() -> localQueryService.getTransactionsAsync(customerId, year, month, page, size, baseCurrency));
+    }
+
+    @Override
+    public CompletableFuture<TransactionPageResponse> getTransactionsAfterAsync(String customerId,
+                                                                            int year, int month,
+                                                                            String cursor, int size,
+                                                                            String baseCurrency) {
+        return storeRouter.remoteTransactionsOwner(customerId, year, month, null)
+                .map(host -> remoteQueryClient.getTransactionsAfterAsync(host, year, month, cursor, size, baseCurrency))
+                .orElseGet(() -> localQueryService.getTransactionsAfterAsync(customerId, year, month, cursor, size, baseCurrency));
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionsBetween(String customerId,
+                                                          LocalDate from, LocalDate to,
+                                                          String cursor, int size,
+                                                          String baseCurrency) {
+        // a range spans several customer-months; the local service reads each one from its owner
+        return localQueryService.getTransactionsBetween(customerId, from, to, cursor, size, baseCurrency);
+    }
+
+    @Override
+    public MonthSummary getMonthSummary(String customerId,
+                                        int year, int month,
+                                        String baseCurrency) {
+        // the totals are kept by the same task as the rows, so the summary goes where the rows go
+        return storeRouter.remoteTransactionsOwner(customerId, year, month, null)
+                .map(host -> remoteQueryClient.getMonthSummary(host, year, month, baseCurrency))
+                .orElseGet(() -> localQueryService.getMonthSummary(customerId, year, month, baseCurrency));
+    }
+
+    @Override
+    public void streamTransactions(String customerId,
+                                   int year, int month,
+                                   String baseCurrency,
+                                   Consumer<List<TransactionDTO>> batchConsumer) {
+        storeRouter.remoteTransactionsOwner(customerId, year, month, null)
+                .ifPresentOrElse(
+                        host -> remoteQueryClient.streamTransactions(host, year, month, baseCurrency, batchConsumer),
+                        () -> localQueryService.streamTransactions(customerId, year, month, baseCurrency, batchConsumer));
+    }
+}
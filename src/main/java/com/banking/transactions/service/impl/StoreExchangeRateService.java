@@ -0,0 +1,86 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.service.IExchangeRateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Looks rates up in the local copy of the rates global table, without blocking I/O.
+ * <p>
+ * The table is filled by {@link ExchangeRateFeeder}; queries never call the provider. A rate that is not on
+ * the topic yet is left out of the answer, so the rows and summaries needing it are answered unconverted
+ * with {@code ratesUnavailable} set.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "transactions.rates.source", havingValue = StoreConfig.RATES_SOURCE_STORE)
+@RequiredArgsConstructor
+@Slf4j
+public class StoreExchangeRateService implements IExchangeRateService {
+
+    private final StreamsBuilderFactoryBean streamsFactory;
+
+    @Override
+    public CompletableFuture<BigDecimal> getRateAsync(String fromCurrency, String toCurrency, LocalDate date) {
+        RateKey key = new RateKey(fromCurrency, toCurrency, date);
+        return getRatesAsync(List.of(key)).thenApply(rates -> rates.get(key));
+    }
+
+    @Override
+    public CompletableFuture<Map<RateKey, BigDecimal>> getRatesAsync(Collection<RateKey> keys) {
+        // a store that is not queryable yet fails the future, like a provider call would, instead of throwing
+        try {
+            ReadOnlyKeyValueStore<String, ExchangeRate> store = ratesStore();
+
+            Map<RateKey, BigDecimal> rates = new HashMap<>();
+            int missing = 0;
+            for (RateKey key : keys) {
+                if (key.from().equals(key.to())) {
+                    rates.put(key, BigDecimal.ONE);
+                    continue;
+                }
+                ExchangeRate rate = store.get(key.storeKey());
+                if (rate != null) {
+                    rates.put(key, rate.getRate());
+                } else {
+                    missing++;
+                }
+            }
+            if (missing > 0) {
+                // expected until the feeder catches up, and it would be logged on every query
+                log.debug("Rates store misses {} keys, answering them unconverted until they are fed", missing);
+            }
+            return CompletableFuture.completedFuture(rates);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ReadOnlyKeyValueStore<String, ExchangeRate> ratesStore() {
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams())
+                .orElseThrow(() -> new IllegalStateException("Kafka Streams is not started"));
+        return streams.store(StoreQueryParameters.fromNameAndType(
+                StoreConfig.RATES_STORE_NAME,
+                QueryableStoreTypes.keyValueStore()
+        ));
+    }
+}
@@ -1,25 +1,244 @@
 package com.banking.transactions.service.impl;
 
+import com.banking.transactions.cache.TransactionWriteStatusCache;
+import com.banking.transactions.config.AsyncContext;
 import com.banking.transactions.config.StoreConfig;
 import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionBatchItemResult;
+import com.banking.transactions.dto.TransactionBatchResponse;
+import com.banking.transactions.dto.TransactionBatchRow;
+import com.banking.transactions.dto.TransactionWrite;
+import com.banking.transactions.dto.TransactionWriteStatus;
 import com.banking.transactions.service.IStoreTransactionService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
 @Service
-@RequiredArgsConstructor
 @RegisterReflectionForBinding({
         Transaction.class
 })
 public class StoreTransactionService implements IStoreTransactionService {
 
+    private static final String LATENCY_METRIC = "transactions.write.latency";
+    private static final String FAILURES_METRIC = "transactions.write.failures";
+
     private final KafkaTemplate<String, Transaction> kafkaTemplate;
 
+    private final Duration ackTimeout;
+
+    private final TransactionWriteStatusCache writeStatusCache;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer storedLatency;
+
+    private final Timer failedLatency;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public StoreTransactionService(KafkaTemplate<String, Transaction> kafkaTemplate,
+                                   @Value("${transactions.ingest.ack-timeout:30s}") Duration ackTimeout,
+                                   TransactionWriteStatusCache writeStatusCache,
+                                   MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.ackTimeout = ackTimeout;
+        this.writeStatusCache = writeStatusCache;
+        this.meterRegistry = meterRegistry;
+        this.storedLatency = latencyTimer("stored");
+        this.failedLatency = latencyTimer("failed");
+        meterRegistry.gauge("transactions.write.pending", pending);
+    }
 
     @Override
-    public void storeTransaction(Transaction transaction) {
-        kafkaTemplate.send(StoreConfig.TRANSACTION_TOPIC, transaction.getId(), transaction);
+    public TransactionWrite storeTransaction(Transaction transaction) {
+        TransactionWriteStatus status = TransactionWriteStatus.builder()
+                .trackingId(UUID.randomUUID().toString())
+                .transactionId(transaction.getId())
+                .customerId(transaction.getCustomerId())
+                .state(TransactionWriteStatus.State.PENDING)
+                .build();
+        writeStatusCache.put(status);
+
+        CompletableFuture<TransactionWriteStatus> outcome = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, Transaction>> send;
+        try {
+            send = send(transaction);
+        } catch (RuntimeException e) {
+            // refused before it was sent, e.g. no metadata or buffer space within max.block.ms
+            writeStatusCache.put(status.toBuilder()
+                    .state(TransactionWriteStatus.State.FAILED)
+                    .error(rootCause(e).getMessage())
+                    .build());
+            outcome.completeExceptionally(e);
+            return new TransactionWrite(status.getTrackingId(), outcome);
+        }
+        // the callback runs on the producer I/O thread: record the outcome and hand it on, nothing slower
+        send.whenCompleteAsync((result, error) -> {
+            TransactionWriteStatus done = error == null
+                    ? status.toBuilder()
+                    .state(TransactionWriteStatus.State.STORED)
+                    .partition(result.getRecordMetadata().partition())
+                    .offset(result.getRecordMetadata().offset())
+                    .build()
+                    : status.toBuilder()
+                    .state(TransactionWriteStatus.State.FAILED)
+                    .error(rootCause(error).getMessage())
+                    .build();
+            writeStatusCache.put(done);
+            outcome.complete(done);
+        }, AsyncContext.capture());
+        return new TransactionWrite(status.getTrackingId(), outcome);
+    }
+
+    @Override
+    public CompletableFuture<TransactionBatchResponse> storeTransactions(Iterator<TransactionBatchRow> rows) {
+        List<TransactionBatchItemResult> items = new ArrayList<>();
+        List<CompletableFuture<SendResult<String, Transaction>>> sends = new ArrayList<>();
+
+        // rows go to the producer as they are read, so its batches fill while the body is still streaming
+        try {
+            while (rows.hasNext()) {
+                TransactionBatchRow row = rows.next();
+                Transaction transaction = row.transaction();
+                items.add(TransactionBatchItemResult.builder()
+                        .index(row.index())
+                        .id(transaction == null ? null : transaction.getId())
+                        .status(TransactionBatchItemResult.Status.REJECTED)
+                        .error(row.error())
+                        .build());
+                sends.add(row.isValid() ? sendOrFail(transaction) : null);
+            }
+        } catch (RuntimeException e) {
+            // the rows already sent are on their way: report them and end the batch at the unreadable item
+            log.warn("Batch body could not be read past {} items: {}", items.size(), rootCause(e).getMessage());
+            int index = items.isEmpty() ? 0 : items.get(items.size() - 1).getIndex() + 1;
+            items.add(TransactionBatchItemResult.builder()
+                    .index(index)
+                    .status(TransactionBatchItemResult.Status.REJECTED)
+                    .error("Body could not be read, the rest was not stored: " + rootCause(e).getMessage())
+                    .build());
+            sends.add(null);
+        }
+        // no flush: it would wait for every record of the shared producer and cut linger short for other
+        // requests; the last batch leaves after linger.ms like any other
+
+        // acknowledgements are awaited without a thread; they share one deadline counted from the end of the body
+        List<CompletableFuture<?>> acks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (sends.get(i) != null) {
+                acks.add(acknowledge(items.get(i), sends.get(i)));
+            }
+        }
+        return CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> TransactionBatchResponse.builder()
+                        .received(items.size())
+                        .accepted(count(items, TransactionBatchItemResult.Status.ACCEPTED))
+                        .rejected(count(items, TransactionBatchItemResult.Status.REJECTED))
+                        .failed(count(items, TransactionBatchItemResult.Status.FAILED))
+                        .items(items)
+                        .build());
+    }
+
+    private CompletableFuture<SendResult<String, Transaction>> sendOrFail(Transaction transaction) {
+        try {
+            return send(transaction);
+        } catch (RuntimeException e) {
+            // e.g. metadata or buffer space not available within max.block.ms: fails this row, not the batch
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends one transaction and records its acknowledgement latency, or its failure, when Kafka answers.
+     */
+    private CompletableFuture<SendResult<String, Transaction>> send(Transaction transaction) {
+        long start = System.nanoTime();
+        pending.incrementAndGet();
+        CompletableFuture<SendResult<String, Transaction>> send;
+        try {
+            send = kafkaTemplate.send(StoreConfig.TRANSACTION_TOPIC, transaction.getId(), transaction);
+        } catch (RuntimeException e) {
+            recordFailure(transaction, e, start);
+            throw e;
+        }
+        send.whenCompleteAsync((result, error) -> {
+            if (error == null) {
+                pending.decrementAndGet();
+                storedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                recordFailure(transaction, error, start);
+            }
+        }, AsyncContext.capture());
+        return send;
+    }
+
+    private void recordFailure(Transaction transaction, Throwable error, long start) {
+        pending.decrementAndGet();
+        failedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Throwable cause = rootCause(error);
+        Counter.builder(FAILURES_METRIC)
+                .description("Transaction writes Kafka did not acknowledge")
+                .tag("exception", cause.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        log.error("[WRITE FAILED] transaction {}: {}", transaction.getId(), cause.getMessage());
+    }
+
+    private Timer latencyTimer(String outcome) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Time from handing a transaction to the producer until Kafka answers")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        // KafkaTemplate wraps producer errors in KafkaProducerException, futures in CompletionException
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private CompletableFuture<Void> acknowledge(TransactionBatchItemResult item,
+                                                CompletableFuture<SendResult<String, Transaction>> send) {
+        // time out a copy, so the send's own callbacks still see the real outcome
+        return send.copy()
+                .orTimeout(ackTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handleAsync((result, error) -> {
+                    if (error == null) {
+                        item.setStatus(TransactionBatchItemResult.Status.ACCEPTED);
+                    } else if (rootCause(error) instanceof TimeoutException) {
+                        item.setStatus(TransactionBatchItemResult.Status.FAILED);
+                        item.setError("Not acknowledged within " + ackTimeout);
+                    } else {
+                        item.setStatus(TransactionBatchItemResult.Status.FAILED);
+                        item.setError(rootCause(error).getMessage());
+                    }
+                    return null;
+                }, AsyncContext.capture());
+    }
+
+    private int count(List<TransactionBatchItemResult> items, TransactionBatchItemResult.Status status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
     }
 }
@@ -1,130 +1,492 @@
 package com.banking.transactions.service.impl;
 
+import com.banking.transactions.cache.PageKey;
+import com.banking.transactions.cache.TransactionPageCache;
+import com.banking.transactions.config.AsyncContext;
 import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.dto.CurrencySummary;
+import com.banking.transactions.dto.MonthSummary;
 import com.banking.transactions.dto.PageInfo;
 import com.banking.transactions.dto.PageSummary;
+import com.banking.transactions.dto.RateKey;
 import com.banking.transactions.dto.Transaction;
 import com.banking.transactions.dto.TransactionDTO;
 import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.exception.ApiException;
+import com.banking.transactions.money.Money;
+import com.banking.transactions.money.MoneySum;
+import com.banking.transactions.routing.RemoteQueryClient;
+import com.banking.transactions.routing.StoreRouter;
 import com.banking.transactions.service.IExchangeRateService;
 import com.banking.transactions.service.ITransactionsQueryService;
+import com.banking.transactions.service.RateDeadline;
+import com.banking.transactions.store.DayTotals;
+import com.banking.transactions.store.MonthTotals;
+import com.banking.transactions.store.TransactionKeyCodec;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.config.StreamsBuilderFactoryBean;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @RegisterReflectionForBinding({
         TransactionDTO.class,
         TransactionPageResponse.class,
         PageInfo.class,
-        PageSummary.class
+        PageSummary.class,
+        MonthSummary.class,
+        CurrencySummary.class,
+        MonthTotals.class,
+        DayTotals.class
 })
 public class TransactionsQueryService implements ITransactionsQueryService {
 
+    private static final int EXPORT_BATCH_SIZE = 100;
+
+    private static final int MAX_RANGE_MONTHS = 12;
+
     private final StreamsBuilderFactoryBean streamsFactory;
     private final IExchangeRateService exchangeRateService;
+    private final TransactionPageCache pageCache;
+    private final StoreRouter storeRouter;
+    private final RemoteQueryClient remoteQueryClient;
+
+    @Value("${transactions.rates.deadline:2s}")
+    private final Duration rateDeadline;
 
 
     @Override
     public TransactionPageResponse getTransactions(String customerId,
                                                    int year, int month,
                                                    int page, int size,
-                                                   String baseCurrency) {
+                                                   String baseCurrency,
+                                                   Long maxLag) {
+
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        if (maxLag == null) {
+            return pageCache.get(new PageKey(customerId, year, month, page, size, baseCurrency),
+                    () -> loadPage(customerId, year, month, page, size, baseCurrency, null, deadline));
+        }
+        // standby copies are not fed through the topology, so cache invalidation never reaches them
+        long lag = checkLag(storeRouter.transactionsLag(customerId, year, month), maxLag);
+        TransactionPageResponse response = loadPage(customerId, year, month, page, size, baseCurrency, maxLag, deadline);
+        response.setStoreLag(lag);
+        return response;
+    }
 
+    @Override
+    public CompletableFuture<TransactionPageResponse> getTransactionsAsync(String customerId,
+                                                                       int year, int month,
+                                                                       int page, int size,
+                                                                       String baseCurrency) {
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        return pageCache.getAsync(new PageKey(customerId, year, month, page, size, baseCurrency), () -> {
+            PageRows rows = offsetRows(customerId, year, month, page, size, null);
+            return buildResponseAsync(rows.transactions(), rows.pageInfo(), baseCurrency, deadline);
+        });
+    }
+
+    private TransactionPageResponse loadPage(String customerId,
+                                             int year, int month,
+                                             int page, int size,
+                                             String baseCurrency,
+                                             Long maxLag,
+                                             RateDeadline deadline) {
+        PageRows rows = offsetRows(customerId, year, month, page, size, maxLag);
+        return buildResponse(rows.transactions(), rows.pageInfo(), baseCurrency, deadline);
+    }
+
+    private PageRows offsetRows(String customerId,
+                                int year, int month,
+                                int page, int size,
+                                Long maxLag) {
 
         var streams = Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
-        ReadOnlyKeyValueStore<String, Transaction> store =
-                streams
-                        .store(StoreQueryParameters.fromNameAndType(
-                                StoreConfig.STORE_NAME,
-                                QueryableStoreTypes.keyValueStore()
-                        ));
+        ReadOnlyKeyValueStore<String, Transaction> store = keyValueStore(streams, StoreConfig.STORE_NAME, maxLag != null);
 
+        long totalElements = countTransactions(customerId, year, month, maxLag);
+        int totalPages = (int) Math.ceil((double) totalElements / size);
 
-        String prefix = customerId + ":" + year + "-" + String.format("%02d", month) + ":";
+        String prefix = TransactionKeyCodec.monthPrefix(customerId, year, month);
 
-        List<Transaction> all = new ArrayList<>();
-        try (var iter = store.all()) {
-            while (iter.hasNext()) {
-                var kv = iter.next();
-                if (kv.key.startsWith(prefix)) {
-                    all.add(kv.value);
+        // keys iterate newest-first, so the page is a seek past the offset plus a limit;
+        // store values decode lazily, so the skipped rows and the look-ahead row are never decoded
+        long offset = (long) page * size;
+        List<KeyValue<String, Transaction>> rows = new ArrayList<>(size);
+        boolean hasNext = false;
+        if (offset < totalElements) {
+            try (var iter = store.prefixScan(prefix, new StringSerializer())) {
+                for (long skipped = 0; skipped < offset && iter.hasNext(); skipped++) {
+                    iter.next();
                 }
+                hasNext = readPage(iter, size, rows);
             }
         }
 
-        int totalElements = all.size();
-        int totalPages = (int) Math.ceil((double) totalElements / size);
+        PageInfo pageInfo = PageInfo.builder()
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first(page == 0)
+                .last(page == totalPages - 1)
+                .hasNext(page < totalPages - 1)
+                .hasPrevious(page > 0)
+                .nextCursor(nextCursor(rows, hasNext))
+                .build();
 
-        List<Transaction> pageContent = all.stream()
-                .sorted(Comparator.comparing(Transaction::getValueDate).reversed())
-                .skip((long) page * size)
-                .limit(size)
-                .toList();
+        return new PageRows(values(rows), pageInfo);
+    }
 
-        // --- async enrichment ---
-        List<CompletableFuture<TransactionDTO>> futures = pageContent.stream()
-                .map(t -> exchangeRateService.getRateAsync(t.getCurrency(), baseCurrency, t.getValueDate())
-                        .thenApply(rate -> {
-                            BigDecimal converted = t.getAmount().multiply(rate);
-                            return TransactionDTO.builder()
-                                    .id(t.getId())
-                                    .originalAmount(t.getAmount())
-                                    .originalCurrency(t.getCurrency())
-                                    .convertedAmount(converted)
-                                    .baseCurrency(baseCurrency)
-                                    .exchangeRate(rate)
-                                    .accountIban(t.getAccountIban())
-                                    .valueDate(t.getValueDate())
-                                    .description(t.getDescription())
-                                    .type(t.getType())
-                                    .build();
-                        }))
-                .toList();
+    @Override
+    public TransactionPageResponse getTransactionsAfter(String customerId,
+                                                        int year, int month,
+                                                        String cursor, int size,
+                                                        String baseCurrency,
+                                                        Long maxLag) {
 
-        // Wait for all futures
-        List<TransactionDTO> dtos = futures.stream()
-                .map(CompletableFuture::join)
-                .toList();
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        Long lag = maxLag == null ? null : checkLag(storeRouter.transactionsLag(customerId, year, month), maxLag);
+        PageRows rows = cursorRows(customerId, year, month, cursor, size, maxLag);
+        TransactionPageResponse response = buildResponse(rows.transactions(), rows.pageInfo(), baseCurrency, deadline);
+        response.setStoreLag(lag);
+        return response;
+    }
 
-        // Summary
-        BigDecimal totalCredits = dtos.stream()
-                .filter(dto -> dto.getType() == Transaction.TransactionType.CREDIT)
-                .map(TransactionDTO::getConvertedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Override
+    public CompletableFuture<TransactionPageResponse> getTransactionsAfterAsync(String customerId,
+                                                                            int year, int month,
+                                                                            String cursor, int size,
+                                                                            String baseCurrency) {
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        PageRows rows = cursorRows(customerId, year, month, cursor, size, null);
+        return buildResponseAsync(rows.transactions(), rows.pageInfo(), baseCurrency, deadline);
+    }
 
-        BigDecimal totalDebits = dtos.stream()
-                .filter(dto -> dto.getType() == Transaction.TransactionType.DEBIT)
-                .map(TransactionDTO::getConvertedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private PageRows cursorRows(String customerId,
+                                int year, int month,
+                                String cursor, int size,
+                                Long maxLag) {
+
+        String lastKey = decodeCursor(cursor);
+        String prefix = TransactionKeyCodec.monthPrefix(customerId, year, month);
+        if (!lastKey.startsWith(prefix)) {
+            // a cursor is only valid for the customer-month it was issued for
+            throw new ApiException("Invalid cursor", 400);
+        }
+
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
+        ReadOnlyKeyValueStore<String, Transaction> store = keyValueStore(streams, StoreConfig.STORE_NAME, maxLag != null);
+
+        long totalElements = countTransactions(customerId, year, month, maxLag);
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+
+        // seek straight past the last returned key instead of skipping page * size rows
+        List<KeyValue<String, Transaction>> rows = new ArrayList<>(size);
+        boolean hasNext;
+        try (var iter = store.range(TransactionKeyCodec.successor(lastKey),
+                TransactionKeyCodec.monthRangeEnd(customerId, year, month))) {
+            hasNext = readPage(iter, size, rows);
+        }
 
         PageInfo pageInfo = PageInfo.builder()
-                .page(page)
                 .size(size)
                 .totalElements(totalElements)
                 .totalPages(totalPages)
-                .first(page == 0)
-                .last(page == totalPages - 1)
-                .hasNext(page < totalPages - 1)
-                .hasPrevious(page > 0)
+                .first(false)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(true)
+                .nextCursor(nextCursor(rows, hasNext))
                 .build();
 
-        PageSummary summary = PageSummary.builder()
+        return new PageRows(values(rows), pageInfo);
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionsBetween(String customerId,
+                                                          LocalDate from, LocalDate to,
+                                                          String cursor, int size,
+                                                          String baseCurrency) {
+
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        YearMonth oldestMonth = YearMonth.from(from);
+        YearMonth month = YearMonth.from(to);
+        if (size < 1 || from.isAfter(to) || !oldestMonth.plusMonths(MAX_RANGE_MONTHS).isAfter(month)) {
+            throw new ApiException("Date range must be ordered and span at most " + MAX_RANGE_MONTHS + " months", 400);
+        }
+        String monthCursor = null;
+        if (cursor != null) {
+            month = YearMonth.from(rangeCursorDate(customerId, decodeCursor(cursor), from, to));
+            monthCursor = cursor;
+        }
+
+        // months are disjoint and walked newest-first, so appending their ranges keeps key order;
+        // one row beyond the page tells whether more exist, and older months are not opened once it is read
+        List<Transaction> rows = new ArrayList<>(size + 1);
+        for (; !month.isBefore(oldestMonth) && rows.size() <= size; month = month.minusMonths(1)) {
+            rows.addAll(monthRange(customerId, month, from, to, monthCursor, size + 1 - rows.size()));
+            monthCursor = null;
+        }
+        boolean hasNext = rows.size() > size;
+        List<Transaction> page = hasNext ? rows.subList(0, size) : rows;
+
+        // the count store is per whole month, so totals of an arbitrary date range are not known
+        PageInfo pageInfo = PageInfo.builder()
+                .size(size)
+                .totalElements(-1)
+                .totalPages(-1)
+                .first(cursor == null)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(cursor != null)
+                .nextCursor(hasNext ? rangeCursor(customerId, page.get(size - 1)) : null)
+                .build();
+
+        return buildResponse(page, pageInfo, baseCurrency, deadline);
+    }
+
+    /**
+     * Up to {@code limit} rows of a customer-month valued between {@code from} and {@code to}, newest first,
+     * read from this instance's store without routing. A cursor resumes after the row it was issued for.
+     */
+    public List<Transaction> readMonthRange(String customerId,
+                                            int year, int month,
+                                            LocalDate from, LocalDate to,
+                                            String cursor, int limit) {
+
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDate newest = to.isBefore(yearMonth.atEndOfMonth()) ? to : yearMonth.atEndOfMonth();
+        LocalDate oldest = from.isAfter(yearMonth.atDay(1)) ? from : yearMonth.atDay(1);
+
+        String start = TransactionKeyCodec.dayPrefix(customerId, newest);
+        if (cursor != null) {
+            String lastKey = decodeCursor(cursor);
+            if (!lastKey.startsWith(TransactionKeyCodec.monthPrefix(customerId, year, month))) {
+                throw new ApiException("Invalid cursor", 400);
+            }
+            start = TransactionKeyCodec.successor(lastKey);
+        }
+
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
+        ReadOnlyKeyValueStore<String, Transaction> store = keyValueStore(streams, StoreConfig.STORE_NAME, false);
+
+        List<Transaction> rows = new ArrayList<>(limit);
+        try (var iter = store.range(start, TransactionKeyCodec.dayRangeEnd(customerId, oldest))) {
+            while (rows.size() < limit && iter.hasNext()) {
+                rows.add(iter.next().value);
+            }
+        }
+        return rows;
+    }
+
+    private List<Transaction> monthRange(String customerId, YearMonth month,
+                                         LocalDate from, LocalDate to,
+                                         String cursor, int limit) {
+        // every month lives on its own partition, so each one is read where it is owned
+        return storeRouter.remoteTransactionsOwner(customerId, month.getYear(), month.getMonthValue(), null)
+                .map(host -> remoteQueryClient.readMonthRange(host, month.getYear(), month.getMonthValue(),
+                        from, to, cursor, limit))
+                .orElseGet(() -> readMonthRange(customerId, month.getYear(), month.getMonthValue(),
+                        from, to, cursor, limit));
+    }
+
+    private String rangeCursor(String customerId, Transaction last) {
+        return TransactionKeyCodec.encodeCursor(TransactionKeyCodec.encode(customerId, last.getValueDate(), last.getId()));
+    }
+
+    private LocalDate rangeCursorDate(String customerId, String lastKey, LocalDate from, LocalDate to) {
+        try {
+            LocalDate valueDate = TransactionKeyCodec.valueDateOf(lastKey);
+            if (lastKey.startsWith(TransactionKeyCodec.dayPrefix(customerId, valueDate))
+                    && !valueDate.isBefore(from) && !valueDate.isAfter(to)) {
+                return valueDate;
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeException e) {
+            // fall through, a malformed key is an invalid cursor
+        }
+        throw new ApiException("Invalid cursor", 400);
+    }
+
+    @Override
+    public MonthSummary getMonthSummary(String customerId,
+                                        int year, int month,
+                                        String baseCurrency) {
+
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        // the totals are kept by the task holding the rows, so the routing service already sent the query here
+        MonthTotals totals = monthTotals(customerId, year, month);
+
+        // one rate per currency and value date instead of one per row, resolved in a single batch
+        Set<RateKey> rateKeys = new HashSet<>();
+        List<CurrencySummary> currencies = new ArrayList<>();
+        totals.getCurrencies().forEach((currency, days) -> {
+            CurrencySummary currencySummary = CurrencySummary.builder()
+                    .currency(currency)
+                    .totalCredits(BigDecimal.ZERO)
+                    .totalDebits(BigDecimal.ZERO)
+                    .build();
+            days.forEach((valueDate, day) -> {
+                currencySummary.setTotalCredits(currencySummary.getTotalCredits().add(day.getCredits()));
+                currencySummary.setTotalDebits(currencySummary.getTotalDebits().add(day.getDebits()));
+                currencySummary.setCreditCount(currencySummary.getCreditCount() + day.getCreditCount());
+                currencySummary.setDebitCount(currencySummary.getDebitCount() + day.getDebitCount());
+                rateKeys.add(new RateKey(currency, baseCurrency, valueDate));
+            });
+            currencies.add(currencySummary);
+        });
+        // converted totals need every rate; a store that lacks one leaves them out like a late lookup
+        Optional<Map<RateKey, BigDecimal>> rates = rateKeys.isEmpty()
+                ? Optional.of(Map.of())
+                : ratesWithin(rateKeys, deadline).join().filter(found -> found.keySet().containsAll(rateKeys));
+
+        // without rates only the per-currency totals can be given, the converted ones are left out
+        BigDecimal totalCredits = null;
+        BigDecimal totalDebits = null;
+        BigDecimal netAmount = null;
+        if (rates.isPresent()) {
+            MoneySum credits = new MoneySum();
+            MoneySum debits = new MoneySum();
+            MoneySum net = new MoneySum();
+            for (var currency : totals.getCurrencies().entrySet()) {
+                for (var day : currency.getValue().entrySet()) {
+                    BigDecimal rate = rates.get().get(new RateKey(currency.getKey(), baseCurrency, day.getKey()));
+                    credits.add(day.getValue().getCredits(), rate);
+                    debits.add(day.getValue().getDebits(), rate);
+                    net.add(day.getValue().getCredits(), rate);
+                    net.subtract(day.getValue().getDebits(), rate);
+                }
+            }
+            int exponent = Money.exponent(baseCurrency);
+            totalCredits = Money.toDecimal(credits.toMinorUnits(exponent), exponent);
+            totalDebits = Money.toDecimal(debits.toMinorUnits(exponent), exponent);
+            netAmount = Money.toDecimal(net.toMinorUnits(exponent), exponent);
+        }
+
+        return MonthSummary.builder()
+                .year(year)
+                .month(month)
                 .totalCredits(totalCredits)
                 .totalDebits(totalDebits)
-                .netAmount(totalCredits.subtract(totalDebits))
+                .netAmount(netAmount)
+                .baseCurrency(baseCurrency)
+                .ratesUnavailable(rates.isEmpty())
+                .transactionCount(currencies.stream()
+                        .mapToLong(c -> c.getCreditCount() + c.getDebitCount())
+                        .sum())
+                .currencies(currencies)
+                .build();
+    }
+
+    @Override
+    public void streamTransactions(String customerId,
+                                   int year, int month,
+                                   String baseCurrency,
+                                   Consumer<List<TransactionDTO>> batchConsumer) {
+
+        RateDeadline deadline = RateDeadline.after(rateDeadline);
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
+        ReadOnlyKeyValueStore<String, Transaction> store = keyValueStore(streams, StoreConfig.STORE_NAME, false);
+
+        String prefix = TransactionKeyCodec.monthPrefix(customerId, year, month);
+
+        // enrich and hand over one bounded batch at a time so memory does not grow with the month
+        List<Transaction> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        try (var iter = store.prefixScan(prefix, new StringSerializer())) {
+            while (iter.hasNext()) {
+                batch.add(iter.next().value);
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    batchConsumer.accept(enrich(batch, baseCurrency, deadline));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(enrich(batch, baseCurrency, deadline));
+        }
+    }
+
+    private TransactionPageResponse buildResponse(List<Transaction> transactions,
+                                                  PageInfo pageInfo,
+                                                  String baseCurrency,
+                                                  RateDeadline deadline) {
+        return toResponse(enrich(transactions, baseCurrency, deadline), pageInfo, baseCurrency);
+    }
+
+    private CompletableFuture<TransactionPageResponse> buildResponseAsync(List<Transaction> transactions,
+                                                                         PageInfo pageInfo,
+                                                                         String baseCurrency,
+                                                                         RateDeadline deadline) {
+        return enrichAsync(transactions, baseCurrency, deadline)
+                .thenApplyAsync(dtos -> toResponse(dtos, pageInfo, baseCurrency), AsyncContext.capture());
+    }
+
+    private TransactionPageResponse toResponse(List<TransactionDTO> dtos,
+                                               PageInfo pageInfo,
+                                               String baseCurrency) {
+
+        boolean ratesUnavailable = dtos.stream().anyMatch(dto -> dto.getExchangeRate() == null);
+        if (ratesUnavailable) {
+            PageSummary summary = PageSummary.builder()
+                    .baseCurrency(baseCurrency)
+                    .transactionCount(dtos.size())
+                    .build();
+            return TransactionPageResponse.builder()
+                    .transactions(dtos)
+                    .pageInfo(pageInfo)
+                    .summary(summary)
+                    .ratesUnavailable(true)
+                    .build();
+        }
+
+        // Summary, summed exactly from the unrounded conversions and rounded once per total
+        MoneySum credits = new MoneySum();
+        MoneySum debits = new MoneySum();
+        MoneySum net = new MoneySum();
+        for (TransactionDTO dto : dtos) {
+            if (dto.getType() == Transaction.TransactionType.CREDIT) {
+                credits.add(dto.getOriginalAmount(), dto.getExchangeRate());
+                net.add(dto.getOriginalAmount(), dto.getExchangeRate());
+            } else if (dto.getType() == Transaction.TransactionType.DEBIT) {
+                debits.add(dto.getOriginalAmount(), dto.getExchangeRate());
+                net.subtract(dto.getOriginalAmount(), dto.getExchangeRate());
+            }
+        }
+        int exponent = Money.exponent(baseCurrency);
+
+        PageSummary summary = PageSummary.builder()
+                .totalCredits(Money.toDecimal(credits.toMinorUnits(exponent), exponent))
+                .totalDebits(Money.toDecimal(debits.toMinorUnits(exponent), exponent))
+                .netAmount(Money.toDecimal(net.toMinorUnits(exponent), exponent))
                 .baseCurrency(baseCurrency)
                 .transactionCount(dtos.size())
                 .build();
@@ -136,4 +498,149 @@ public class TransactionsQueryService implements ITransactionsQueryService {
 
 
     }
+
+    private List<TransactionDTO> enrich(List<Transaction> transactions, String baseCurrency, RateDeadline deadline) {
+        return enrichAsync(transactions, baseCurrency, deadline).join();
+    }
+
+    private CompletableFuture<List<TransactionDTO>> enrichAsync(List<Transaction> transactions,
+                                                                String baseCurrency,
+                                                                RateDeadline deadline) {
+        if (transactions.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        // one batched lookup per page; rows sharing currency and value date share a rate
+        Set<RateKey> rateKeys = transactions.stream()
+                .map(t -> new RateKey(t.getCurrency(), baseCurrency, t.getValueDate()))
+                .collect(Collectors.toSet());
+        // rows are still returned in their original currency when no rate arrived in time
+        return ratesWithin(rateKeys, deadline)
+                .thenApplyAsync(rates -> toDtos(transactions, baseCurrency, rates.orElse(Map.of())), AsyncContext.capture());
+    }
+
+    private List<TransactionDTO> toDtos(List<Transaction> transactions,
+                                        String baseCurrency,
+                                        Map<RateKey, BigDecimal> rates) {
+        int exponent = Money.exponent(baseCurrency);
+        return transactions.stream()
+                .map(t -> {
+                    BigDecimal rate = rates.get(new RateKey(t.getCurrency(), baseCurrency, t.getValueDate()));
+                    BigDecimal converted = rate == null
+                            ? null
+                            : Money.toDecimal(Money.convert(t.getAmount(), rate, exponent), exponent);
+                    return TransactionDTO.builder()
+                            .id(t.getId())
+                            .originalAmount(t.getAmount())
+                            .originalCurrency(t.getCurrency())
+                            .convertedAmount(converted)
+                            .baseCurrency(baseCurrency)
+                            .exchangeRate(rate)
+                            .accountIban(t.getAccountIban())
+                            .valueDate(t.getValueDate())
+                            .description(t.getDescription())
+                            .type(t.getType())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Completes once a batch of rates arrived or the request's rate deadline passed, whichever is first. The
+     * deadline goes down to the provider client, which aborts its calls when it passes; the lookup is
+     * cancelled too. A late or failed lookup yields empty so the caller answers unconverted instead of hanging.
+     */
+    private CompletableFuture<Optional<Map<RateKey, BigDecimal>>> ratesWithin(Set<RateKey> rateKeys,
+                                                                             RateDeadline deadline) {
+        CompletableFuture<Map<RateKey, BigDecimal>> lookup = exchangeRateService.getRatesAsync(rateKeys, deadline);
+        return lookup.copy()
+                .orTimeout(deadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                .handleAsync((rates, ex) -> {
+                    if (ex == null) {
+                        return Optional.of(rates);
+                    }
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        lookup.cancel(true);
+                        log.warn("Exchange rates for {} keys not available within {}", rateKeys.size(), rateDeadline);
+                    } else {
+                        log.warn("Exchange rate lookup failed: {}", cause.getMessage());
+                    }
+                    return Optional.empty();
+                }, AsyncContext.capture());
+    }
+
+    /**
+     * Reads up to {@code size} rows into {@code rows} and reports whether the iterator has more.
+     */
+    private boolean readPage(KeyValueIterator<String, Transaction> iter, int size,
+                             List<KeyValue<String, Transaction>> rows) {
+        while (rows.size() < size && iter.hasNext()) {
+            rows.add(iter.next());
+        }
+        return iter.hasNext();
+    }
+
+    private List<Transaction> values(List<KeyValue<String, Transaction>> rows) {
+        return rows.stream().map(kv -> kv.value).toList();
+    }
+
+    private String nextCursor(List<KeyValue<String, Transaction>> rows, boolean hasNext) {
+        if (!hasNext || rows.isEmpty()) {
+            return null;
+        }
+        return TransactionKeyCodec.encodeCursor(rows.get(rows.size() - 1).key);
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            return TransactionKeyCodec.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException("Invalid cursor", 400);
+        }
+    }
+
+    /**
+     * Row count of a customer-month from this instance's count store, without routing: the count is kept by
+     * the task that holds the month's rows, so it is local wherever a page of them is read.
+     * A non-null {@code maxLag} allows answering from a standby or restoring copy within that lag.
+     */
+    public long countTransactions(String customerId, int year, int month, Long maxLag) {
+        if (maxLag != null) {
+            checkLag(storeRouter.monthCountLag(customerId, year, month), maxLag);
+        }
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
+        ReadOnlyKeyValueStore<String, Long> countStore =
+                keyValueStore(streams, StoreConfig.MONTH_COUNT_STORE_NAME, maxLag != null);
+        return Optional.ofNullable(countStore.get(TransactionKeyCodec.monthKey(customerId, year, month))).orElse(0L);
+    }
+
+    /**
+     * Currency totals of a customer-month from this instance's summary store, without routing.
+     */
+    public MonthTotals monthTotals(String customerId, int year, int month) {
+        var streams = Optional.ofNullable(streamsFactory.getKafkaStreams()).orElseThrow();
+        ReadOnlyKeyValueStore<String, MonthTotals> summaryStore =
+                keyValueStore(streams, StoreConfig.MONTH_SUMMARY_STORE_NAME, false);
+        return Optional.ofNullable(summaryStore.get(TransactionKeyCodec.monthKey(customerId, year, month)))
+                .orElseGet(MonthTotals::new);
+    }
+
+    private long checkLag(long lag, long maxLag) {
+        if (lag > maxLag) {
+            throw new ApiException("Transactions store is " + lag + " offsets behind, more than maxLag " + maxLag, 503);
+        }
+        return lag;
+    }
+
+    private <V> ReadOnlyKeyValueStore<String, V> keyValueStore(KafkaStreams streams, String storeName, boolean stale) {
+        StoreQueryParameters<ReadOnlyKeyValueStore<String, V>> parameters = StoreQueryParameters.fromNameAndType(
+                storeName,
+                QueryableStoreTypes.keyValueStore()
+        );
+        // stale stores include standby and restoring copies, not only the running active
+        return streams.store(stale ? parameters.enableStaleStores() : parameters);
+    }
+
+    private record PageRows(List<Transaction> transactions, PageInfo pageInfo) {
+    }
 }
@@ -0,0 +1,39 @@
+package com.banking.transactions.store;
+
+import org.apache.kafka.common.utils.Utils;
+import org.apache.kafka.streams.processor.StreamPartitioner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Partitions {@code transactions-store} keys, and the month prefixes they start with, by their
+ * {@code customerId:yyyy-MM} part so that every row of a customer-month lands on the same partition, and
+ * therefore on the same instance.
+ * <p>
+ * The hash is the default producer murmur2 over the month key, the same partition a plain
+ * {@code customerId:yyyy-MM} key gets from the default partitioner.
+ */
+public class CustomerMonthPartitioner<V> implements StreamPartitioner<String, V> {
+
+    @Override
+    public Optional<Set<Integer>> partitions(String topic, String key, V value, int numPartitions) {
+        return Optional.of(Collections.singleton(partitionOf(key, numPartitions)));
+    }
+
+    /**
+     * Still abstract in the interface, so it must be implemented; Kafka Streams only calls {@link #partitions}.
+     */
+    @Override
+    @Deprecated
+    public Integer partition(String topic, String key, V value, int numPartitions) {
+        return partitionOf(key, numPartitions);
+    }
+
+    private static int partitionOf(String key, int numPartitions) {
+        byte[] monthKey = TransactionKeyCodec.monthKeyOf(key).getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(monthKey)) % numPartitions;
+    }
+}
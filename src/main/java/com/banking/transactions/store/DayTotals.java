@@ -0,0 +1,40 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Credit and debit totals of one currency on one value date, in that currency.
+ */
+@Data
+@NoArgsConstructor
+public class DayTotals {
+
+    private BigDecimal credits = BigDecimal.ZERO;
+
+    private BigDecimal debits = BigDecimal.ZERO;
+
+    private long creditCount;
+
+    private long debitCount;
+
+    void apply(Transaction transaction, int sign) {
+        BigDecimal amount = sign < 0 ? transaction.getAmount().negate() : transaction.getAmount();
+        if (transaction.getType() == Transaction.TransactionType.CREDIT) {
+            credits = credits.add(amount);
+            creditCount += sign;
+        } else {
+            debits = debits.add(amount);
+            debitCount += sign;
+        }
+    }
+
+    @JsonIgnore
+    boolean isEmpty() {
+        return creditCount == 0 && debitCount == 0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transaction read from {@code transactions-store} that keeps its binary record and decodes it on first
+ * access to a field.
+ * <p>
+ * Store rows are paged by key, so rows that are only skipped or peeked past cost a wrapper around bytes
+ * the store already returned instead of a decoded object graph. A record that fails to decode throws
+ * {@link org.apache.kafka.common.errors.SerializationException} from the first accessor, not the iterator.
+ */
+final class LazyTransaction extends Transaction {
+
+    private volatile byte[] encoded;
+
+    private boolean decoding;
+
+    LazyTransaction(byte[] encoded) {
+        this.encoded = encoded;
+    }
+
+    boolean isDecoded() {
+        return encoded == null;
+    }
+
+    private void decode() {
+        if (encoded == null) {
+            return;
+        }
+        synchronized (this) {
+            // the codec fills the fields through the setters below, which re-enter here while decoding
+            if (encoded != null && !decoding) {
+                decoding = true;
+                try {
+                    TransactionBinaryCodec.decodeInto(encoded, this);
+                    encoded = null;
+                } finally {
+                    decoding = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getId() {
+        decode();
+        return super.getId();
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        decode();
+        return super.getAmount();
+    }
+
+    @Override
+    public String getCurrency() {
+        decode();
+        return super.getCurrency();
+    }
+
+    @Override
+    public String getAccountIban() {
+        decode();
+        return super.getAccountIban();
+    }
+
+    @Override
+    public LocalDate getValueDate() {
+        decode();
+        return super.getValueDate();
+    }
+
+    @Override
+    public String getDescription() {
+        decode();
+        return super.getDescription();
+    }
+
+    @Override
+    public String getCustomerId() {
+        decode();
+        return super.getCustomerId();
+    }
+
+    @Override
+    public TransactionType getType() {
+        decode();
+        return super.getType();
+    }
+
+    @Override
+    public void setId(String id) {
+        decode();
+        super.setId(id);
+    }
+
+    @Override
+    public void setAmount(BigDecimal amount) {
+        decode();
+        super.setAmount(amount);
+    }
+
+    @Override
+    public void setCurrency(String currency) {
+        decode();
+        super.setCurrency(currency);
+    }
+
+    @Override
+    public void setAccountIban(String accountIban) {
+        decode();
+        super.setAccountIban(accountIban);
+    }
+
+    @Override
+    public void setValueDate(LocalDate valueDate) {
+        decode();
+        super.setValueDate(valueDate);
+    }
+
+    @Override
+    public void setDescription(String description) {
+        decode();
+        super.setDescription(description);
+    }
+
+    @Override
+    public void setCustomerId(String customerId) {
+        decode();
+        super.setCustomerId(customerId);
+    }
+
+    @Override
+    public void setType(TransactionType type) {
+        decode();
+        super.setType(type);
+    }
+}
@@ -0,0 +1,45 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running totals of a customer-month, kept per currency and value date.
+ * <p>
+ * Rates are daily, so converting each day's sum gives exactly the same result as converting every row,
+ * while the work stays bounded by currencies times days instead of the number of rows.
+ */
+@Data
+@NoArgsConstructor
+public class MonthTotals {
+
+    private Map<String, Map<LocalDate, DayTotals>> currencies = new TreeMap<>();
+
+    public MonthTotals add(Transaction transaction) {
+        apply(transaction, 1);
+        return this;
+    }
+
+    public MonthTotals subtract(Transaction transaction) {
+        apply(transaction, -1);
+        return this;
+    }
+
+    private void apply(Transaction transaction, int sign) {
+        Map<LocalDate, DayTotals> days = currencies.computeIfAbsent(transaction.getCurrency(), c -> new TreeMap<>());
+        DayTotals day = days.computeIfAbsent(transaction.getValueDate(), d -> new DayTotals());
+        day.apply(transaction, sign);
+        // drop emptied entries so an upsert moving a row between days or currencies leaves no residue
+        if (day.isEmpty()) {
+            days.remove(transaction.getValueDate());
+            if (days.isEmpty()) {
+                currencies.remove(transaction.getCurrency());
+            }
+        }
+    }
+}
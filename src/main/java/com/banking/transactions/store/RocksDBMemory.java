@@ -0,0 +1,117 @@
+package com.banking.transactions.store;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.WriteBufferManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Native memory shared by every RocksDB store of the process: one LRU block cache and, in bounded mode, a
+ * {@link WriteBufferManager} that charges the memtables of all stores to that same cache.
+ * <p>
+ * Unbounded, the cache holds data blocks only and each store keeps its own memtables, indexes and filters,
+ * so memory grows with the number of stores and partitions. Bounded, the budget covers the block cache,
+ * the memtables and the index and filter blocks together; the budget is {@link #BUDGET_BYTES_CONFIG} or
+ * {@link #BUDGET_FRACTION_CONFIG} of the memory of the container.
+ * <p>
+ * Created with the first store that opens and never closed: stores open and close with rebalances.
+ */
+final class RocksDBMemory {
+
+    static final String BLOCK_CACHE_BYTES_CONFIG = "transactions.rocksdb.block-cache-bytes";
+    static final String BOUNDED_CONFIG = "transactions.rocksdb.memory.bounded";
+    static final String BUDGET_BYTES_CONFIG = "transactions.rocksdb.memory.budget-bytes";
+    static final String BUDGET_FRACTION_CONFIG = "transactions.rocksdb.memory.budget-fraction";
+    static final String WRITE_BUFFER_RATIO_CONFIG = "transactions.rocksdb.memory.write-buffer-ratio";
+
+    private static final long DEFAULT_BLOCK_CACHE_BYTES = 64L * 1024 * 1024;
+    private static final double DEFAULT_BUDGET_FRACTION = 0.25;
+    private static final double DEFAULT_WRITE_BUFFER_RATIO = 0.5;
+    // share of the cache reserved for index and filter blocks, so data blocks cannot evict them
+    private static final double INDEX_FILTER_RATIO = 0.1;
+
+    private static RocksDBMemory shared;
+
+    private final long budget;
+    private final Cache cache;
+    private final WriteBufferManager writeBufferManager;
+
+    RocksDBMemory(Map<String, Object> configs, long containerMemory) {
+        if (Boolean.parseBoolean(String.valueOf(configs.get(BOUNDED_CONFIG)))) {
+            long budgetBytes = longConfig(configs, BUDGET_BYTES_CONFIG, 0);
+            budget = budgetBytes > 0
+                    ? budgetBytes
+                    : (long) (containerMemory * doubleConfig(configs, BUDGET_FRACTION_CONFIG, DEFAULT_BUDGET_FRACTION));
+            // not a strict limit: RocksDB fails reads and iterators once a strict cache is full
+            cache = new LRUCache(budget, -1, false, INDEX_FILTER_RATIO);
+            writeBufferManager = new WriteBufferManager(
+                    (long) (budget * doubleConfig(configs, WRITE_BUFFER_RATIO_CONFIG, DEFAULT_WRITE_BUFFER_RATIO)), cache);
+        } else {
+            budget = longConfig(configs, BLOCK_CACHE_BYTES_CONFIG, DEFAULT_BLOCK_CACHE_BYTES);
+            cache = new LRUCache(budget);
+            writeBufferManager = null;
+        }
+    }
+
+    static synchronized RocksDBMemory shared(Map<String, Object> configs) {
+        if (shared == null) {
+            shared = new RocksDBMemory(configs, containerMemory());
+        }
+        return shared;
+    }
+
+    /**
+     * The shared memory once a store has opened, {@code null} before.
+     */
+    static synchronized RocksDBMemory sharedIfOpened() {
+        return shared;
+    }
+
+    boolean isBounded() {
+        return writeBufferManager != null;
+    }
+
+    /**
+     * The bounded budget, or the block cache capacity when unbounded.
+     */
+    long budget() {
+        return budget;
+    }
+
+    Cache cache() {
+        return cache;
+    }
+
+    WriteBufferManager writeBufferManager() {
+        return writeBufferManager;
+    }
+
+    /**
+     * Bytes held by the cache; bounded, this includes the memtables and the index and filter blocks.
+     */
+    long usage() {
+        return cache.getUsage();
+    }
+
+    long pinnedUsage() {
+        return cache.getPinnedUsage();
+    }
+
+    private static long containerMemory() {
+        // the cgroup limit inside a container, physical memory outside
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getTotalMemorySize();
+    }
+
+    static long longConfig(Map<String, Object> configs, String name, long defaultValue) {
+        Object value = configs.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+
+    private static double doubleConfig(Map<String, Object> configs, String name, double defaultValue) {
+        Object value = configs.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value.toString().trim());
+    }
+}
@@ -0,0 +1,41 @@
+package com.banking.transactions.store;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Gauges of the native memory shared by the RocksDB stores, see {@link RocksDBMemory}. They read
+ * {@code NaN} until the first store opens.
+ * <p>
+ * Per-store figures such as {@code size-all-mem-tables} and {@code estimate-table-readers-mem} come with
+ * the Kafka Streams state store metrics; in bounded mode those are all part of {@code rocksdb.memory.usage}.
+ */
+@Component
+public class RocksDBMemoryMetrics {
+
+    public RocksDBMemoryMetrics(MeterRegistry meterRegistry) {
+        gauge(meterRegistry, "rocksdb.memory.budget",
+                "Bounded memory budget of all RocksDB stores, or the block cache capacity when unbounded",
+                RocksDBMemory::budget);
+        gauge(meterRegistry, "rocksdb.memory.usage",
+                "Bytes held by the shared block cache, including memtables, indexes and filters when bounded",
+                RocksDBMemory::usage);
+        gauge(meterRegistry, "rocksdb.memory.pinned.usage",
+                "Bytes of the shared block cache pinned by open iterators and tables",
+                RocksDBMemory::pinnedUsage);
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String description,
+                       ToLongFunction<RocksDBMemory> value) {
+        Gauge.builder(name, () -> {
+                    RocksDBMemory memory = RocksDBMemory.sharedIfOpened();
+                    return memory == null ? Double.NaN : value.applyAsLong(memory);
+                })
+                .description(description)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
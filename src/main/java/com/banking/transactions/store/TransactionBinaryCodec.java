@@ -0,0 +1,233 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary layout of a {@link Transaction} on the transactions topic, the repartition and changelog
+ * topics and in {@code transactions-store}.
+ * <p>
+ * Version 1: the version byte, a varint bit set of the fields present (plus {@link #BIG_AMOUNT}), then the
+ * present fields in declaration order. Strings are a varint byte length and UTF-8; the amount is its
+ * zigzag-varint scale and unscaled value, the latter as length-prefixed two's complement bytes when it
+ * does not fit a long; the currency is its varint index in {@link #CURRENCIES} or 0 and the code; the value
+ * date is its zigzag-varint epoch day and the type its {@link #TYPES} index.
+ * <p>
+ * Field order, the currency dictionary and the type codes are part of the format: a change to them needs
+ * a new version, and only appending to the dictionary is compatible.
+ */
+public final class TransactionBinaryCodec {
+
+    public static final byte VERSION_1 = 1;
+
+    private static final int ID = 1;
+    private static final int AMOUNT = 1 << 1;
+    private static final int CURRENCY = 1 << 2;
+    private static final int ACCOUNT_IBAN = 1 << 3;
+    private static final int VALUE_DATE = 1 << 4;
+    private static final int DESCRIPTION = 1 << 5;
+    private static final int CUSTOMER_ID = 1 << 6;
+    private static final int TYPE = 1 << 7;
+    private static final int BIG_AMOUNT = 1 << 8;
+
+    private static final List<String> CURRENCIES = List.of(
+            "IDR", "USD", "EUR", "GBP", "CHF", "JPY", "SGD", "AUD", "CNY", "HKD",
+            "MYR", "THB", "PHP", "VND", "KRW", "INR", "SAR", "AED", "CAD", "NZD",
+            "SEK", "NOK", "DKK", "PLN", "CZK", "HUF", "TRY", "ZAR", "BRL", "MXN");
+
+    private static final Map<String, Integer> CURRENCY_CODES = new HashMap<>();
+
+    private static final List<Transaction.TransactionType> TYPES = List.of(
+            Transaction.TransactionType.CREDIT, Transaction.TransactionType.DEBIT);
+
+    static {
+        for (int i = 0; i < CURRENCIES.size(); i++) {
+            CURRENCY_CODES.put(CURRENCIES.get(i), i + 1);
+        }
+    }
+
+    private TransactionBinaryCodec() {
+    }
+
+    /**
+     * True when {@code data} is in a binary layout rather than JSON, which never starts with a control byte.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == VERSION_1;
+    }
+
+    public static byte[] encode(Transaction transaction) {
+        BigInteger bigAmount = null;
+        int fields = 0;
+        if (transaction.getId() != null) fields |= ID;
+        if (transaction.getAmount() != null) {
+            fields |= AMOUNT;
+            if (transaction.getAmount().unscaledValue().bitLength() > 63) {
+                fields |= BIG_AMOUNT;
+                bigAmount = transaction.getAmount().unscaledValue();
+            }
+        }
+        if (transaction.getCurrency() != null) fields |= CURRENCY;
+        if (transaction.getAccountIban() != null) fields |= ACCOUNT_IBAN;
+        if (transaction.getValueDate() != null) fields |= VALUE_DATE;
+        if (transaction.getDescription() != null) fields |= DESCRIPTION;
+        if (transaction.getCustomerId() != null) fields |= CUSTOMER_ID;
+        if (transaction.getType() != null) fields |= TYPE;
+
+        Writer out = new Writer();
+        out.write(VERSION_1);
+        out.writeVarLong(fields);
+        if ((fields & ID) != 0) out.writeString(transaction.getId());
+        if ((fields & AMOUNT) != 0) {
+            out.writeVarLong(zigzag(transaction.getAmount().scale()));
+            if (bigAmount != null) {
+                out.writeLengthPrefixed(bigAmount.toByteArray());
+            } else {
+                out.writeVarLong(zigzag(transaction.getAmount().unscaledValue().longValue()));
+            }
+        }
+        if ((fields & CURRENCY) != 0) {
+            Integer code = CURRENCY_CODES.get(transaction.getCurrency());
+            out.writeVarLong(code == null ? 0 : code);
+            if (code == null) {
+                out.writeString(transaction.getCurrency());
+            }
+        }
+        if ((fields & ACCOUNT_IBAN) != 0) out.writeString(transaction.getAccountIban());
+        if ((fields & VALUE_DATE) != 0) out.writeVarLong(zigzag(transaction.getValueDate().toEpochDay()));
+        if ((fields & DESCRIPTION) != 0) out.writeString(transaction.getDescription());
+        if ((fields & CUSTOMER_ID) != 0) out.writeString(transaction.getCustomerId());
+        if ((fields & TYPE) != 0) out.writeVarLong(TYPES.indexOf(transaction.getType()));
+        return out.toByteArray();
+    }
+
+    public static Transaction decode(byte[] data) {
+        Transaction transaction = new Transaction();
+        decodeInto(data, transaction);
+        return transaction;
+    }
+
+    /**
+     * Sets the fields present in {@code data} on {@code transaction}, leaving the others untouched.
+     */
+    static void decodeInto(byte[] data, Transaction transaction) {
+        Reader in = new Reader(data);
+        byte version = in.read();
+        if (version != VERSION_1) {
+            throw new SerializationException("Unknown transaction format version " + version);
+        }
+        try {
+            long fields = in.readVarLong();
+            if ((fields & ID) != 0) transaction.setId(in.readString());
+            if ((fields & AMOUNT) != 0) {
+                int scale = (int) unzigzag(in.readVarLong());
+                BigInteger unscaled = (fields & BIG_AMOUNT) != 0 ? new BigInteger(in.readBytes()) : null;
+                transaction.setAmount(unscaled != null
+                        ? new BigDecimal(unscaled, scale)
+                        : BigDecimal.valueOf(unzigzag(in.readVarLong()), scale));
+            }
+            if ((fields & CURRENCY) != 0) {
+                int code = (int) in.readVarLong();
+                transaction.setCurrency(code == 0 ? in.readString() : CURRENCIES.get(code - 1));
+            }
+            if ((fields & ACCOUNT_IBAN) != 0) transaction.setAccountIban(in.readString());
+            if ((fields & VALUE_DATE) != 0) transaction.setValueDate(LocalDate.ofEpochDay(unzigzag(in.readVarLong())));
+            if ((fields & DESCRIPTION) != 0) transaction.setDescription(in.readString());
+            if ((fields & CUSTOMER_ID) != 0) transaction.setCustomerId(in.readString());
+            if ((fields & TYPE) != 0) transaction.setType(TYPES.get((int) in.readVarLong()));
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Malformed transaction record", e);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(64);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeLengthPrefixed(byte[] bytes) {
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeString(String value) {
+            writeLengthPrefixed(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte read() {
+            if (position >= data.length) {
+                throw new IndexOutOfBoundsException(position);
+            }
+            return data[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > data.length) {
+                throw new IndexOutOfBoundsException(position + length);
+            }
+            byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > data.length) {
+                throw new IndexOutOfBoundsException(position + length);
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Reads binary transactions and, for records written before the binary format, JSON ones, so topics and
+ * changelogs migrate as they are rewritten instead of all at once.
+ * <p>
+ * A lazy deserializer returns binary records undecoded until a field is read, see {@link LazyTransaction}.
+ */
+public class TransactionDeserializer implements Deserializer<Transaction> {
+
+    private static final ObjectMapper JSON = JacksonUtils.enhancedObjectMapper();
+
+    private final boolean lazy;
+
+    public TransactionDeserializer() {
+        this(false);
+    }
+
+    public TransactionDeserializer(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    @Override
+    public Transaction deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (TransactionBinaryCodec.isBinary(data)) {
+            return lazy ? new LazyTransaction(data) : TransactionBinaryCodec.decode(data);
+        }
+        try {
+            return JSON.readValue(data, Transaction.class);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize transaction from topic " + topic, e);
+        }
+    }
+}
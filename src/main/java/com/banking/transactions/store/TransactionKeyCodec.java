@@ -0,0 +1,128 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Key layout of {@code transactions-store}: {@code monthHash:customerId:yyyy-MM:invertedValueDate:transactionId}.
+ * <p>
+ * The value date is stored as its complement so that the ascending byte order of RocksDB
+ * returns the rows of a customer-month newest-first, which lets a page be read with a
+ * prefix seek and a limit instead of a sort.
+ * <p>
+ * {@code monthHash} is the murmur2 hash of {@code customerId:yyyy-MM} as {@link #MONTH_HASH_LENGTH} hex digits.
+ * Every key of a customer-month starts with the same fixed-width hash whatever the length of the customer id,
+ * so RocksDB can build its prefix blooms over exactly those bytes.
+ */
+public final class TransactionKeyCodec {
+
+    public static final char SEPARATOR = ':';
+
+    public static final int MONTH_HASH_LENGTH = 8;
+
+    private static final String HASH_PADDING = "0".repeat(MONTH_HASH_LENGTH);
+
+    private static final int DATE_COMPLEMENT = 99_999_999;
+
+    private static final int MONTH_LENGTH = "yyyy-MM".length();
+
+    private static final int DATE_LENGTH = "yyyyMMdd".length();
+
+    private TransactionKeyCodec() {
+    }
+
+    public static String encode(Transaction transaction) {
+        return encode(transaction.getCustomerId(), transaction.getValueDate(), transaction.getId());
+    }
+
+    public static String encode(String customerId, LocalDate valueDate, String transactionId) {
+        return monthPrefix(customerId, valueDate.getYear(), valueDate.getMonthValue())
+                + invertDate(valueDate) + SEPARATOR + transactionId;
+    }
+
+    /**
+     * Prefix shared by every key of the given customer-month, including the trailing separator.
+     */
+    public static String monthPrefix(String customerId, int year, int month) {
+        String monthKey = monthKey(customerId, year, month);
+        return monthHash(monthKey) + SEPARATOR + monthKey + SEPARATOR;
+    }
+
+    public static String monthKey(Transaction transaction) {
+        LocalDate valueDate = transaction.getValueDate();
+        return monthKey(transaction.getCustomerId(), valueDate.getYear(), valueDate.getMonthValue());
+    }
+
+    public static String monthKey(String customerId, int year, int month) {
+        return customerId + SEPARATOR + year + "-" + String.format("%02d", month);
+    }
+
+    /**
+     * Extracts {@code customerId:yyyy-MM} from a full store key.
+     */
+    public static String monthKeyOf(String key) {
+        int start = MONTH_HASH_LENGTH + 1;
+        return key.substring(start, key.indexOf(SEPARATOR, start) + MONTH_LENGTH + 1);
+    }
+
+    /**
+     * Inclusive upper bound for a range query over one customer-month; sorts after every key of the month.
+     */
+    public static String monthRangeEnd(String customerId, int year, int month) {
+        String monthKey = monthKey(customerId, year, month);
+        return monthHash(monthKey) + SEPARATOR + monthKey + (char) (SEPARATOR + 1);
+    }
+
+    /**
+     * Prefix shared by every key of the customer on the given value date, including the trailing separator.
+     */
+    public static String dayPrefix(String customerId, LocalDate valueDate) {
+        return monthPrefix(customerId, valueDate.getYear(), valueDate.getMonthValue()) + invertDate(valueDate) + SEPARATOR;
+    }
+
+    /**
+     * Inclusive upper bound for a range query ending on {@code valueDate}; sorts after every key of that day.
+     */
+    public static String dayRangeEnd(String customerId, LocalDate valueDate) {
+        return monthPrefix(customerId, valueDate.getYear(), valueDate.getMonthValue())
+                + invertDate(valueDate) + (char) (SEPARATOR + 1);
+    }
+
+    /**
+     * Extracts the value date from a full store key.
+     */
+    public static LocalDate valueDateOf(String key) {
+        int start = MONTH_HASH_LENGTH + 1 + monthKeyOf(key).length() + 1;
+        int yyyymmdd = DATE_COMPLEMENT - Integer.parseInt(key.substring(start, start + DATE_LENGTH));
+        return LocalDate.of(yyyymmdd / 10_000, yyyymmdd / 100 % 100, yyyymmdd % 100);
+    }
+
+    /**
+     * Smallest key that sorts strictly after {@code key}.
+     */
+    public static String successor(String key) {
+        return key + '\u0000';
+    }
+
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeCursor(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    static String monthHash(String monthKey) {
+        String hex = Integer.toHexString(Utils.murmur2(monthKey.getBytes(StandardCharsets.UTF_8)));
+        return HASH_PADDING.substring(hex.length()) + hex;
+    }
+
+    static String invertDate(LocalDate valueDate) {
+        int yyyymmdd = valueDate.getYear() * 10_000 + valueDate.getMonthValue() * 100 + valueDate.getDayOfMonth();
+        return String.format("%08d", DATE_COMPLEMENT - yyyymmdd);
+    }
+}
@@ -0,0 +1,66 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+/**
+ * Rekeys records of the {@code transactions} topic, keyed by transaction id, to their store key and keeps an
+ * id to store key index so a transaction's previous row can be removed.
+ * <p>
+ * The value date is part of the store key, so an upsert that moves a transaction to another day or month
+ * writes a new key. The previous key is then forwarded as a tombstone ahead of the new row, which keeps the
+ * row store, counts and totals free of the old version. A tombstone on the topic deletes the indexed row;
+ * one for an id that was never indexed has nothing to delete and is dropped.
+ */
+public class TransactionRekeyProcessor implements Processor<String, Transaction, String, Transaction> {
+
+    private final String indexStoreName;
+
+    private ProcessorContext<String, Transaction> context;
+
+    private KeyValueStore<String, String> index;
+
+    public TransactionRekeyProcessor(String indexStoreName) {
+        this.indexStoreName = indexStoreName;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, Transaction> context) {
+        this.context = context;
+        this.index = context.getStateStore(indexStoreName);
+    }
+
+    @Override
+    public void process(Record<String, Transaction> record) {
+        Transaction transaction = record.value();
+        // records are keyed by transaction id; fall back to the value for producers that left the key out
+        String id = record.key() != null ? record.key() : transaction == null ? null : transaction.getId();
+        if (id == null) {
+            if (transaction != null) {
+                context.forward(record.withKey(TransactionKeyCodec.encode(transaction)));
+            }
+            return;
+        }
+
+        String previousKey = index.get(id);
+        if (transaction == null) {
+            if (previousKey != null) {
+                index.delete(id);
+                context.forward(record.withKey(previousKey));
+            }
+            return;
+        }
+
+        String key = TransactionKeyCodec.encode(transaction);
+        if (previousKey != null && !previousKey.equals(key)) {
+            context.forward(record.withKey(previousKey).withValue((Transaction) null));
+        }
+        if (!key.equals(previousKey)) {
+            index.put(id, key);
+        }
+        context.forward(record.withKey(key));
+    }
+}
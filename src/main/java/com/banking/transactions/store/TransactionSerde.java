@@ -0,0 +1,26 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.common.serialization.Serdes;
+
+/**
+ * Serde of the transactions topic, its repartition and changelog topics and {@code transactions-store}.
+ */
+public class TransactionSerde extends Serdes.WrapperSerde<Transaction> {
+
+    public TransactionSerde() {
+        this(new TransactionDeserializer());
+    }
+
+    private TransactionSerde(TransactionDeserializer deserializer) {
+        super(new TransactionSerializer(), deserializer);
+    }
+
+    /**
+     * Serde whose binary values decode on first field access, for stores read by key order where most rows
+     * read are skipped rather than returned.
+     */
+    public static TransactionSerde lazy() {
+        return new TransactionSerde(new TransactionDeserializer(true));
+    }
+}
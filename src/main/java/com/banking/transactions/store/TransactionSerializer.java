@@ -0,0 +1,16 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Writes transactions in the current {@link TransactionBinaryCodec} version; usable as a producer
+ * {@code value.serializer}.
+ */
+public class TransactionSerializer implements Serializer<Transaction> {
+
+    @Override
+    public byte[] serialize(String topic, Transaction transaction) {
+        return transaction == null ? null : TransactionBinaryCodec.encode(transaction);
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+import java.util.function.Consumer;
+
+/**
+ * Applies rekeyed transactions to the row store and, in the same task, to the month count and month totals
+ * stores.
+ * <p>
+ * Keeping the three stores in one processor co-locates them on the instance that owns the customer-month,
+ * so a page, its total count and the month summary are answered without another hop. The previous row is
+ * read from the row store, which keeps the count and totals exact across upserts and deletes. Cached pages
+ * of the month are dropped once the change is visible in all three stores.
+ */
+public class TransactionStoreProcessor implements Processor<String, Transaction, Void, Void> {
+
+    private final String rowStoreName;
+
+    private final String countStoreName;
+
+    private final String totalsStoreName;
+
+    private final Consumer<String> monthChanged;
+
+    private KeyValueStore<String, Transaction> rows;
+
+    private KeyValueStore<String, Long> counts;
+
+    private KeyValueStore<String, MonthTotals> totals;
+
+    public TransactionStoreProcessor(String rowStoreName, String countStoreName, String totalsStoreName,
+                                     Consumer<String> monthChanged) {
+        this.rowStoreName = rowStoreName;
+        this.countStoreName = countStoreName;
+        this.totalsStoreName = totalsStoreName;
+        this.monthChanged = monthChanged;
+    }
+
+    @Override
+    public void init(ProcessorContext<Void, Void> context) {
+        this.rows = context.getStateStore(rowStoreName);
+        this.counts = context.getStateStore(countStoreName);
+        this.totals = context.getStateStore(totalsStoreName);
+    }
+
+    @Override
+    public void process(Record<String, Transaction> record) {
+        String key = record.key();
+        Transaction transaction = record.value();
+        Transaction previous = rows.get(key);
+        if (transaction == null && previous == null) {
+            return;
+        }
+
+        String monthKey = TransactionKeyCodec.monthKeyOf(key);
+        MonthTotals monthTotals = totals.get(monthKey);
+        if (monthTotals == null) {
+            monthTotals = new MonthTotals();
+        }
+        if (previous != null) {
+            monthTotals.subtract(previous);
+        }
+
+        if (transaction == null) {
+            rows.delete(key);
+            addToCount(monthKey, -1);
+        } else {
+            rows.put(key, transaction);
+            monthTotals.add(transaction);
+            if (previous == null) {
+                addToCount(monthKey, 1);
+            }
+        }
+
+        if (monthTotals.getCurrencies().isEmpty()) {
+            totals.delete(monthKey);
+        } else {
+            totals.put(monthKey, monthTotals);
+        }
+        monthChanged.accept(monthKey);
+    }
+
+    private void addToCount(String monthKey, long delta) {
+        Long stored = counts.get(monthKey);
+        long count = stored == null ? 0 : stored;
+        if (count + delta <= 0) {
+            counts.delete(monthKey);
+        } else {
+            counts.put(monthKey, count + delta);
+        }
+    }
+}
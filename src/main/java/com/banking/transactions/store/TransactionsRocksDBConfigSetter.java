@@ -0,0 +1,78 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.config.StoreConfig;
+import org.apache.kafka.streams.state.RocksDBConfigSetter;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Options;
+
+import java.util.Map;
+
+/**
+ * RocksDB options of the service's state stores, set with {@code rocksdb.config.setter}.
+ * <p>
+ * Every store gets whole-key bloom filters, {@link #BLOCK_SIZE_CONFIG}-sized blocks and the block cache of
+ * {@link RocksDBMemory}, shared by all stores and stream threads of the process instead of a cache per store.
+ * In bounded memory mode the memtables, index and filter blocks are charged to that cache as well.
+ * {@code transactions-store} additionally gets a fixed-length prefix extractor with prefix blooms in the SST files
+ * and the memtable, so a seek to a customer-month only opens files that hold keys of that customer-month.
+ * <p>
+ * The prefix is the {@link TransactionKeyCodec#MONTH_HASH_LENGTH}-digit month hash that starts every key, which
+ * is the same for all rows and seeks of a customer-month whatever the length of the customer id. Iterators
+ * seek without total order, so a scan must stay within one customer-month, as every scan of the store does.
+ */
+public class TransactionsRocksDBConfigSetter implements RocksDBConfigSetter {
+
+    public static final String BLOCK_CACHE_BYTES_CONFIG = RocksDBMemory.BLOCK_CACHE_BYTES_CONFIG;
+    public static final String MEMORY_BOUNDED_CONFIG = RocksDBMemory.BOUNDED_CONFIG;
+    public static final String MEMORY_BUDGET_BYTES_CONFIG = RocksDBMemory.BUDGET_BYTES_CONFIG;
+    public static final String MEMORY_BUDGET_FRACTION_CONFIG = RocksDBMemory.BUDGET_FRACTION_CONFIG;
+    public static final String MEMORY_WRITE_BUFFER_RATIO_CONFIG = RocksDBMemory.WRITE_BUFFER_RATIO_CONFIG;
+    public static final String BLOCK_SIZE_CONFIG = "transactions.rocksdb.block-size-bytes";
+
+    private static final long DEFAULT_BLOCK_SIZE = 8 * 1024;
+    private static final double BLOOM_BITS_PER_KEY = 10;
+    private static final double MEMTABLE_PREFIX_BLOOM_RATIO = 0.1;
+
+    private final RocksDBMemory memory;
+
+    private BloomFilter filter;
+
+    public TransactionsRocksDBConfigSetter() {
+        this(null);
+    }
+
+    TransactionsRocksDBConfigSetter(RocksDBMemory memory) {
+        this.memory = memory;
+    }
+
+    @Override
+    public void setConfig(String storeName, Options options, Map<String, Object> configs) {
+        RocksDBMemory shared = memory != null ? memory : RocksDBMemory.shared(configs);
+        BlockBasedTableConfig tableConfig = (BlockBasedTableConfig) options.tableFormatConfig();
+        filter = new BloomFilter(BLOOM_BITS_PER_KEY);
+        tableConfig.setBlockCache(shared.cache());
+        tableConfig.setBlockSize(RocksDBMemory.longConfig(configs, BLOCK_SIZE_CONFIG, DEFAULT_BLOCK_SIZE));
+        tableConfig.setFilterPolicy(filter);
+        tableConfig.setWholeKeyFiltering(true);
+
+        if (shared.isBounded()) {
+            // indexes and filters are charged to the budget instead of growing with every open table file
+            tableConfig.setCacheIndexAndFilterBlocks(true);
+            tableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+            tableConfig.setPinTopLevelIndexAndFilter(true);
+            options.setWriteBufferManager(shared.writeBufferManager());
+        }
+
+        if (StoreConfig.STORE_NAME.equals(storeName)) {
+            options.useFixedLengthPrefixExtractor(TransactionKeyCodec.MONTH_HASH_LENGTH);
+            options.setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_RATIO);
+        }
+        options.setTableFormatConfig(tableConfig);
+    }
+
+    @Override
+    public void close(String storeName, Options options) {
+        filter.close();
+    }
+}
@@ -0,0 +1,116 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.dto.RateKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ExchangeRateCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 15);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AtomicLong nanos;
+
+    private ExchangeRateCache rateCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = new AtomicLong();
+        Clock clock = Clock.fixed(Instant.parse("2024-03-15T10:00:00Z"), ZoneOffset.UTC);
+        rateCache = new ExchangeRateCache(1000, Duration.ofMinutes(1), meterRegistry, clock, nanos::get);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void givenPastAndCurrentRates_whenTtlElapses_thenOnlyCurrentRateReloads() {
+        // Given
+        RateKey past = new RateKey("USD", "IDR", TODAY.minusDays(1));
+        RateKey current = new RateKey("USD", "IDR", TODAY);
+        rateCache.get(past, this::load).join();
+        rateCache.get(current, this::load).join();
+
+        // When
+        nanos.addAndGet(Duration.ofDays(30).toNanos());
+        rateCache.get(past, this::load).join();
+        rateCache.get(current, this::load).join();
+
+        // Then
+        assertEquals(3, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ExchangeRateCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void givenConcurrentMisses_whenGetAll_thenOverlappingKeysShareOneLoad() {
+        // Given
+        RateKey usd = new RateKey("USD", "IDR", TODAY.minusDays(1));
+        RateKey eur = new RateKey("EUR", "IDR", TODAY.minusDays(1));
+        CompletableFuture<Map<RateKey, BigDecimal>> upstream = new CompletableFuture<>();
+        AtomicInteger batches = new AtomicInteger();
+
+        // When
+        CompletableFuture<Map<RateKey, BigDecimal>> first = rateCache.getAll(List.of(usd), missing -> {
+            batches.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<Map<RateKey, BigDecimal>> second = rateCache.getAll(List.of(usd, eur), missing -> {
+            batches.incrementAndGet();
+            assertEquals(Set.of(eur), missing);
+            return CompletableFuture.completedFuture(Map.of(eur, BigDecimal.TEN));
+        });
+        assertFalse(second.isDone());
+        upstream.complete(Map.of(usd, BigDecimal.ONE));
+
+        // Then
+        assertEquals(2, batches.get());
+        assertEquals(Map.of(usd, BigDecimal.ONE), first.join());
+        assertEquals(Map.of(usd, BigDecimal.ONE, eur, BigDecimal.TEN), second.join());
+    }
+
+    @Test
+    void givenCachedKeys_whenGetAll_thenLoaderReceivesOnlyMissingKeys() {
+        // Given
+        RateKey usd = new RateKey("USD", "IDR", TODAY.minusDays(2));
+        RateKey eur = new RateKey("EUR", "IDR", TODAY.minusDays(2));
+        rateCache.get(usd, this::load).join();
+
+        // When
+        Map<RateKey, BigDecimal> rates = rateCache.getAll(List.of(usd, eur), missing -> {
+            loads.addAndGet(missing.size());
+            return CompletableFuture.completedFuture(missing.stream()
+                    .collect(Collectors.toMap(key -> key, key -> BigDecimal.TEN)));
+        }).join();
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(BigDecimal.ONE, rates.get(usd));
+        assertEquals(BigDecimal.TEN, rates.get(eur));
+    }
+
+    private CompletableFuture<BigDecimal> load(RateKey key) {
+        loads.incrementAndGet();
+        return CompletableFuture.completedFuture(BigDecimal.ONE);
+    }
+}
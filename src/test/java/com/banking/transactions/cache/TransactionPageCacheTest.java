@@ -0,0 +1,174 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.dto.TransactionPageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TransactionPageCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransactionPageCache pageCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pageCache = new TransactionPageCache(1 << 20, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void givenCachedPage_whenGetSameKey_thenLoaderRunsOnce() {
+        // Given
+        PageKey key = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+
+        // When
+        TransactionPageResponse first = pageCache.get(key, this::load);
+        TransactionPageResponse second = pageCache.get(key, this::load);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void givenPagesOfTwoMonths_whenInvalidateMonth_thenOnlyThatMonthReloads() {
+        // Given
+        PageKey marchFirst = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        PageKey marchSecond = new PageKey("c1", 2024, 3, 1, 20, "USD");
+        PageKey april = new PageKey("c1", 2024, 4, 0, 20, "IDR");
+        pageCache.get(marchFirst, this::load);
+        pageCache.get(marchSecond, this::load);
+        pageCache.get(april, this::load);
+
+        // When
+        pageCache.invalidateMonth("c1:2024-03");
+        pageCache.get(marchFirst, this::load);
+        pageCache.get(marchSecond, this::load);
+        pageCache.get(april, this::load);
+
+        // Then
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void givenPagesOfTwoMonths_whenInvalidateAll_thenBothReload() {
+        // Given
+        PageKey march = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        PageKey april = new PageKey("c2", 2024, 4, 0, 20, "IDR");
+        pageCache.get(march, this::load);
+        pageCache.get(april, this::load);
+
+        // When
+        pageCache.invalidateAll();
+        pageCache.get(march, this::load);
+        pageCache.get(april, this::load);
+
+        // Then
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void givenInvalidateAllWhileAsyncLoadInFlight_whenGetAsync_thenResultIsNotCached() {
+        // Given
+        PageKey key = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        CompletableFuture<TransactionPageResponse> inFlight = new CompletableFuture<>();
+        CompletableFuture<TransactionPageResponse> result = pageCache.getAsync(key, () -> inFlight);
+
+        // When
+        pageCache.invalidateAll();
+        inFlight.complete(new TransactionPageResponse());
+        result.join();
+        pageCache.get(key, this::load);
+
+        // Then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenInvalidationDuringLoad_whenGet_thenResultIsNotCached() {
+        // Given
+        PageKey key = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+
+        // When
+        pageCache.get(key, () -> {
+            pageCache.invalidateMonth("c1:2024-03");
+            return load();
+        });
+        pageCache.get(key, this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenPageWithoutRates_whenGet_thenResultIsNotCached() {
+        // Given
+        PageKey key = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        TransactionPageResponse degraded = TransactionPageResponse.builder().ratesUnavailable(true).build();
+
+        // When
+        pageCache.get(key, () -> {
+            loads.incrementAndGet();
+            return degraded;
+        });
+        pageCache.get(key, this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenInvalidationWhileAsyncLoadInFlight_whenGetAsync_thenResultIsNotCached() {
+        // Given
+        PageKey key = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        CompletableFuture<TransactionPageResponse> pending = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<TransactionPageResponse> first = pageCache.getAsync(key, () -> pending);
+        pageCache.invalidateMonth("c1:2024-03");
+        pending.complete(load());
+        pageCache.getAsync(key, () -> CompletableFuture.completedFuture(load())).join();
+
+        // Then
+        assertSame(pending.join(), first.join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenInvalidationBetweenCheckAndPut_whenGet_thenPageIsNotLeftCached() {
+        // Given
+        PageKey key = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        // read right after the generation check, so the invalidation lands before the put
+        TransactionPageResponse racing = new TransactionPageResponse() {
+            @Override
+            public boolean isRatesUnavailable() {
+                pageCache.invalidateMonth("c1:2024-03");
+                return false;
+            }
+        };
+
+        // When
+        pageCache.get(key, () -> racing);
+        pageCache.get(key, this::load);
+
+        // Then
+        assertEquals(1, loads.get());
+    }
+
+    private TransactionPageResponse load() {
+        loads.incrementAndGet();
+        return new TransactionPageResponse();
+    }
+}
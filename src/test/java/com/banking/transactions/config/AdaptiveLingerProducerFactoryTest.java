@@ -0,0 +1,158 @@
+package com.banking.transactions.config;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdaptiveLingerProducerFactoryTest {
+
+    @Mock
+    private DefaultKafkaProducerFactory<String, Transaction> steadyFactory;
+
+    @Mock
+    private DefaultKafkaProducerFactory<String, Transaction> burstFactory;
+
+    @Mock
+    private Producer<String, Transaction> steadyProducer;
+
+    @Mock
+    private Producer<String, Transaction> burstProducer;
+
+    private static final CompletableFuture<Object> ANSWERED = CompletableFuture.completedFuture(null);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AdaptiveLingerProducerFactory<String, Transaction> factory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(steadyFactory.createProducer()).thenReturn(steadyProducer);
+        when(burstFactory.createProducer()).thenReturn(burstProducer);
+        factory = new AdaptiveLingerProducerFactory<>(steadyFactory, burstFactory, 100, Duration.ofSeconds(1), now::get);
+    }
+
+    @Test
+    void givenSparseSends_whenCreateProducer_thenUsesSteadyProducer() {
+        // Given
+        sendOverOneSecond(50);
+
+        // When
+        Producer<String, Transaction> producer = send("tx", ANSWERED);
+
+        // Then
+        assertSame(steadyProducer, producer);
+        assertFalse(factory.isBursting());
+        assertEquals(50, factory.sendRate(), 1);
+    }
+
+    @Test
+    void givenSendRateReachesBurstRate_whenCreateProducer_thenUsesBurstProducer() {
+        // Given
+        sendOverOneSecond(150);
+
+        // When
+        Producer<String, Transaction> producer = send("tx", ANSWERED);
+
+        // Then
+        assertSame(burstProducer, producer);
+        assertTrue(factory.isBursting());
+    }
+
+    @Test
+    void givenBurstSlowsAboveHalfTheRate_whenCreateProducer_thenStaysOnBurstUntilBelowHalf() {
+        // Given
+        sendOverOneSecond(150);
+        sendOverOneSecond(60);
+
+        // When
+        Producer<String, Transaction> stillBursting = send("tx", ANSWERED);
+        sendOverOneSecond(30);
+        Producer<String, Transaction> calm = send("tx", ANSWERED);
+
+        // Then
+        assertSame(burstProducer, stillBursting);
+        assertSame(steadyProducer, calm);
+    }
+
+    @Test
+    void givenUnansweredRecordOnSteady_whenSwitchedToBurst_thenItsKeyStaysOnSteadyUntilAnswered() {
+        // Given
+        CompletableFuture<Object> unanswered = new CompletableFuture<>();
+        send("tx1", unanswered);
+        sendOverOneSecond(150);
+
+        // When
+        Producer<String, Transaction> sameKey = send("tx1", ANSWERED);
+        Producer<String, Transaction> otherKey = send("tx2", ANSWERED);
+        unanswered.complete(null);
+        Producer<String, Transaction> sameKeyAnswered = send("tx1", ANSWERED);
+
+        // Then
+        assertTrue(factory.isBursting());
+        assertSame(steadyProducer, sameKey);
+        assertSame(burstProducer, otherKey);
+        assertSame(burstProducer, sameKeyAnswered);
+    }
+
+    @Test
+    void givenBothProducersUsed_whenFlush_thenFlushesBoth() {
+        // Given
+        sendOverOneSecond(150);
+        send("tx", ANSWERED);
+
+        // When
+        factory.flush();
+
+        // Then
+        verify(steadyProducer).flush();
+        verify(burstProducer).flush();
+    }
+
+    @Test
+    void givenBurstProducerNeverUsed_whenFlush_thenDoesNotCreateIt() {
+        // Given
+        sendOverOneSecond(50);
+
+        // When
+        factory.flush();
+
+        // Then
+        verify(steadyProducer).flush();
+        verify(burstFactory, never()).createProducer();
+    }
+
+    private Producer<String, Transaction> send(String key, CompletableFuture<Object> ack) {
+        AtomicReference<Producer<String, Transaction>> used = new AtomicReference<>();
+        factory.send(key, () -> {
+            used.set(factory.createProducer());
+            return ack;
+        });
+        return used.get();
+    }
+
+    private void sendOverOneSecond(int sends) {
+        for (int i = 0; i < sends; i++) {
+            send("tx", ANSWERED);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.transactions.config;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AsyncContextTest {
+
+    private static final ContextKey<String> TRACE_KEY = ContextKey.named("trace");
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void givenStageBuiltOnRequestThread_whenCompletedOnAnotherThread_thenRunsWithRequestContextAndMdc() throws Exception {
+        // Given
+        CompletableFuture<String> io = new CompletableFuture<>();
+        CompletableFuture<String> observed;
+        MDC.put("reqId", "req-1");
+        try (Scope ignored = Context.current().with(TRACE_KEY, "abc").makeCurrent()) {
+            observed = io.thenApplyAsync(value -> value + ":" + Context.current().get(TRACE_KEY) + ":" + MDC.get("reqId"),
+                    AsyncContext.capture());
+        }
+        MDC.clear();
+
+        // When
+        Thread ioThread = new Thread(() -> io.complete("rates"));
+        ioThread.start();
+        ioThread.join();
+
+        // Then
+        assertEquals("rates:abc:req-1", observed.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenCapturedContext_whenTaskRan_thenSubmittingThreadGetsItsOwnContextBack() {
+        // Given
+        Executor executor;
+        MDC.put("reqId", "req-1");
+        try (Scope ignored = Context.current().with(TRACE_KEY, "abc").makeCurrent()) {
+            executor = AsyncContext.capture();
+        }
+        MDC.clear();
+        MDC.put("reqId", "other");
+
+        // When
+        executor.execute(() -> assertEquals("req-1", MDC.get("reqId")));
+
+        // Then
+        assertEquals("other", MDC.get("reqId"));
+        assertNull(Context.current().get(TRACE_KEY));
+    }
+}
@@ -0,0 +1,95 @@
+package com.banking.transactions.config;
+
+import com.banking.transactions.dto.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KafkaTemplateConfigTest {
+
+    private KafkaTemplateConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new KafkaTemplateConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "producerProfile", "high-throughput");
+        ReflectionTestUtils.setField(config, "burstRate", 2000d);
+        ReflectionTestUtils.setField(config, "burstLingerMs", 25);
+        ReflectionTestUtils.setField(config, "adaptiveWindow", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(config, "maxBlock", Duration.ofSeconds(2));
+    }
+
+    @Test
+    void givenHighThroughputProfile_whenBuildingProducerConfig_thenBatchesAndCompressesIdempotently() {
+        // When
+        Map<String, Object> producerConfig = config.transactionProducerConfig();
+
+        // Then
+        assertEquals(10, producerConfig.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(131_072, producerConfig.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("lz4", producerConfig.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(true, producerConfig.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", producerConfig.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(5, producerConfig.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertEquals(2000L, producerConfig.get(ProducerConfig.MAX_BLOCK_MS_CONFIG));
+    }
+
+    @Test
+    void givenLowLatencyProfileWithOverride_whenBuildingProducerConfig_thenOverrideWins() {
+        // Given
+        ReflectionTestUtils.setField(config, "producerProfile", "low-latency");
+        ReflectionTestUtils.setField(config, "compressionType", "zstd");
+
+        // When
+        Map<String, Object> producerConfig = config.transactionProducerConfig();
+
+        // Then
+        assertEquals(0, producerConfig.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(16_384, producerConfig.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("zstd", producerConfig.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void givenUnknownProfile_whenBuildingProducerConfig_thenFails() {
+        // Given
+        ReflectionTestUtils.setField(config, "producerProfile", "fastest");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> config.transactionProducerConfig());
+    }
+
+    @Test
+    void givenTooManyRequestsInFlight_whenBuildingProducerConfig_thenFailsAtStartup() {
+        // Given
+        ReflectionTestUtils.setField(config, "maxInFlight", 10);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> config.transactionProducerConfig());
+    }
+
+    @Test
+    void givenAdaptiveMode_whenCreatingProducerFactory_thenRegistersSendRateGauges() {
+        // Given
+        ReflectionTestUtils.setField(config, "adaptive", true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        ProducerFactory<String, Transaction> factory = config.transactionProducerFactory(meterRegistry);
+
+        // Then
+        assertInstanceOf(AdaptiveLingerProducerFactory.class, factory);
+        assertEquals(0, meterRegistry.get("transactions.producer.bursting").gauge().value());
+        assertEquals(0, meterRegistry.get("transactions.producer.send.rate").gauge().value());
+    }
+}
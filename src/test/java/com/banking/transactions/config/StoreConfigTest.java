@@ -0,0 +1,272 @@
+package com.banking.transactions.config;
+
+import com.banking.transactions.cache.PageKey;
+import com.banking.transactions.cache.TransactionPageCache;
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.store.DayTotals;
+import com.banking.transactions.store.MonthTotals;
+import com.banking.transactions.store.TransactionKeyCodec;
+import com.banking.transactions.store.TransactionSerializer;
+import com.banking.transactions.store.TransactionsRocksDBConfigSetter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class StoreConfigTest {
+
+    private TopologyTestDriver driver;
+
+    private TestInputTopic<String, Transaction> input;
+
+    private TransactionPageCache pageCache;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        pageCache = new TransactionPageCache(1 << 20, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        new StoreConfig().buildTransactionsTable(builder, pageCache);
+        new StoreConfig().buildRatesTable(builder, StoreConfig.RATES_SOURCE_STORE);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "store-config-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.ROCKSDB_CONFIG_SETTER_CLASS_CONFIG, TransactionsRocksDBConfigSetter.class);
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        JsonSerializer<Transaction> valueSerializer = new JsonSerializer<>();
+        valueSerializer.setAddTypeInfo(false);
+        input = driver.createInputTopic(StoreConfig.TRANSACTION_TOPIC, new StringSerializer(), valueSerializer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void givenTransactions_whenProcessed_thenStoreIteratesMonthNewestFirst() {
+        // Given
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+        input.pipeInput("tx2", transaction("tx2", "c1", LocalDate.of(2024, 3, 20)));
+        input.pipeInput("tx3", transaction("tx3", "c1", LocalDate.of(2024, 4, 2)));
+
+        // When
+        KeyValueStore<String, Transaction> store = driver.getKeyValueStore(StoreConfig.STORE_NAME);
+        List<String> ids = new ArrayList<>();
+        try (var iter = store.prefixScan(TransactionKeyCodec.monthPrefix("c1", 2024, 3), new StringSerializer())) {
+            iter.forEachRemaining(kv -> ids.add(kv.value.getId()));
+        }
+
+        // Then
+        assertEquals(List.of("tx2", "tx1"), ids);
+    }
+
+    @Test
+    void givenBinaryAndLegacyJsonRecords_whenProcessed_thenBothLandInStore() {
+        // Given
+        TestInputTopic<String, Transaction> binaryInput = driver.createInputTopic(
+                StoreConfig.TRANSACTION_TOPIC, new StringSerializer(), new TransactionSerializer());
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+        binaryInput.pipeInput("tx2", transaction("tx2", "c1", LocalDate.of(2024, 3, 20)));
+
+        // When
+        KeyValueStore<String, Transaction> store = driver.getKeyValueStore(StoreConfig.STORE_NAME);
+        List<Transaction> rows = new ArrayList<>();
+        try (var iter = store.prefixScan(TransactionKeyCodec.monthPrefix("c1", 2024, 3), new StringSerializer())) {
+            iter.forEachRemaining(kv -> rows.add(kv.value));
+        }
+
+        // Then
+        assertEquals(List.of(transaction("tx2", "c1", LocalDate.of(2024, 3, 20)),
+                transaction("tx1", "c1", LocalDate.of(2024, 3, 1))), rows);
+    }
+
+    @Test
+    void givenUpsertOfSameTransaction_whenProcessed_thenMonthCountIsNotDoubled() {
+        // Given
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+        input.pipeInput("tx2", transaction("tx2", "c1", LocalDate.of(2024, 3, 5)));
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+
+        // When
+        KeyValueStore<String, Long> counts = driver.getKeyValueStore(StoreConfig.MONTH_COUNT_STORE_NAME);
+
+        // Then
+        assertEquals(2L, counts.get("c1:2024-03"));
+        assertNull(counts.get("c1:2024-04"));
+    }
+
+    @Test
+    void givenUpsertWithNewAmount_whenProcessed_thenMonthTotalsReplaceOldAmount() {
+        // Given
+        Transaction corrected = transaction("tx1", "c1", LocalDate.of(2024, 3, 1));
+        corrected.setAmount(new BigDecimal("25.00"));
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+        input.pipeInput("tx2", transaction("tx2", "c1", LocalDate.of(2024, 3, 5)));
+        input.pipeInput("tx1", corrected);
+
+        // When
+        KeyValueStore<String, MonthTotals> summaries = driver.getKeyValueStore(StoreConfig.MONTH_SUMMARY_STORE_NAME);
+        Map<LocalDate, DayTotals> eurDays = summaries.get("c1:2024-03").getCurrencies().get("EUR");
+
+        // Then
+        assertEquals(Set.of(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 5)), eurDays.keySet());
+        DayTotals day = eurDays.get(LocalDate.of(2024, 3, 1));
+        assertEquals(0, new BigDecimal("25.00").compareTo(day.getCredits()));
+        assertEquals(1, day.getCreditCount());
+        assertEquals(0, day.getDebitCount());
+    }
+
+    @Test
+    void givenUpsertMovingValueDate_whenProcessed_thenOldRowIsRemovedEverywhere() {
+        // Given
+        Transaction movedInMonth = transaction("tx1", "c1", LocalDate.of(2024, 3, 20));
+        Transaction movedToApril = transaction("tx2", "c1", LocalDate.of(2024, 4, 2));
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+        input.pipeInput("tx2", transaction("tx2", "c1", LocalDate.of(2024, 3, 5)));
+
+        // When
+        input.pipeInput("tx1", movedInMonth);
+        input.pipeInput("tx2", movedToApril);
+
+        // Then
+        assertEquals(List.of("tx1"), monthIds(TransactionKeyCodec.monthPrefix("c1", 2024, 3)));
+        assertEquals(List.of("tx2"), monthIds(TransactionKeyCodec.monthPrefix("c1", 2024, 4)));
+        KeyValueStore<String, Long> counts = driver.getKeyValueStore(StoreConfig.MONTH_COUNT_STORE_NAME);
+        assertEquals(1L, counts.get("c1:2024-03"));
+        assertEquals(1L, counts.get("c1:2024-04"));
+        KeyValueStore<String, MonthTotals> summaries = driver.getKeyValueStore(StoreConfig.MONTH_SUMMARY_STORE_NAME);
+        assertEquals(Set.of(LocalDate.of(2024, 3, 20)), summaries.get("c1:2024-03").getCurrencies().get("EUR").keySet());
+    }
+
+    @Test
+    void givenTombstone_whenProcessed_thenRowAndCountAreRemoved() {
+        // Given
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+        input.pipeInput("tx2", transaction("tx2", "c1", LocalDate.of(2024, 3, 5)));
+
+        // When
+        input.pipeInput("tx1", null);
+        input.pipeInput("unknown", null);
+
+        // Then
+        assertEquals(List.of("tx2"), monthIds(TransactionKeyCodec.monthPrefix("c1", 2024, 3)));
+        KeyValueStore<String, Long> counts = driver.getKeyValueStore(StoreConfig.MONTH_COUNT_STORE_NAME);
+        assertEquals(1L, counts.get("c1:2024-03"));
+    }
+
+    @Test
+    void givenRatesOnTopic_whenProcessed_thenGlobalRatesStoreHoldsLatestRate() {
+        // Given
+        JsonSerializer<ExchangeRate> rateSerializer = new JsonSerializer<>();
+        rateSerializer.setAddTypeInfo(false);
+        TestInputTopic<String, ExchangeRate> rates =
+                driver.createInputTopic(StoreConfig.RATES_TOPIC, new StringSerializer(), rateSerializer);
+        RateKey key = new RateKey("EUR", "IDR", LocalDate.of(2024, 3, 1));
+
+        // When
+        rates.pipeInput(key.storeKey(), new ExchangeRate("EUR", "IDR", key.date(), new BigDecimal("17000.00")));
+        rates.pipeInput(key.storeKey(), new ExchangeRate("EUR", "IDR", key.date(), new BigDecimal("17050.00")));
+
+        // Then
+        KeyValueStore<String, ExchangeRate> store = driver.getKeyValueStore(StoreConfig.RATES_STORE_NAME);
+        assertEquals(new BigDecimal("17050.00"), store.get("EUR:IDR:2024-03-01").getRate());
+    }
+
+    @Test
+    void givenCachedPage_whenMonthReceivesTransaction_thenPageIsInvalidated() {
+        // Given
+        PageKey march = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        PageKey april = new PageKey("c1", 2024, 4, 0, 20, "IDR");
+        pageCache.get(march, TransactionPageResponse::new);
+        pageCache.get(april, TransactionPageResponse::new);
+
+        // When
+        input.pipeInput("tx1", transaction("tx1", "c1", LocalDate.of(2024, 3, 1)));
+
+        // Then
+        AtomicInteger loads = new AtomicInteger();
+        pageCache.get(march, () -> {
+            loads.incrementAndGet();
+            return new TransactionPageResponse();
+        });
+        pageCache.get(april, () -> {
+            loads.incrementAndGet();
+            return new TransactionPageResponse();
+        });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenCachedPage_whenStreamsRebalances_thenPageIsInvalidated() {
+        // Given
+        StreamsBuilderFactoryBean factory = mock(StreamsBuilderFactoryBean.class);
+        StoreConfig.pageCacheRebalanceListener(pageCache).configure(factory);
+        ArgumentCaptor<KafkaStreams.StateListener> listener = ArgumentCaptor.forClass(KafkaStreams.StateListener.class);
+        verify(factory).setStateListener(listener.capture());
+        PageKey march = new PageKey("c1", 2024, 3, 0, 20, "IDR");
+        pageCache.get(march, TransactionPageResponse::new);
+
+        // When
+        listener.getValue().onChange(KafkaStreams.State.REBALANCING, KafkaStreams.State.RUNNING);
+
+        // Then
+        AtomicInteger loads = new AtomicInteger();
+        pageCache.get(march, () -> {
+            loads.incrementAndGet();
+            return new TransactionPageResponse();
+        });
+        assertEquals(1, loads.get());
+    }
+
+    private List<String> monthIds(String prefix) {
+        KeyValueStore<String, Transaction> store = driver.getKeyValueStore(StoreConfig.STORE_NAME);
+        List<String> ids = new ArrayList<>();
+        try (var iter = store.prefixScan(prefix, new StringSerializer())) {
+            iter.forEachRemaining(kv -> ids.add(kv.value.getId()));
+        }
+        return ids;
+    }
+
+    private Transaction transaction(String id, String customerId, LocalDate valueDate) {
+        return Transaction.builder()
+                .id(id)
+                .customerId(customerId)
+                .valueDate(valueDate)
+                .amount(new BigDecimal("10.00"))
+                .currency("EUR")
+                .accountIban("CH93-0000-0000-0000-0000-0")
+                .description("test")
+                .type(Transaction.TransactionType.CREDIT)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.banking.transactions.controller;
+
+import com.banking.transactions.dto.TransactionBatchRow;
+import com.banking.transactions.exception.ApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionBatchReaderTest {
+
+    private static final String VALID = """
+            {"id":"tx%d","amount":10.50,"currency":"EUR","accountIban":"CH93-0000-0000-0000-0000-0",\
+            "valueDate":"2024-03-01","description":"test","customerId":"P-0123456789","type":"CREDIT"}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void givenArrayWithInvalidItems_whenRead_thenEveryItemIsReportedInOrder() throws Exception {
+        // Given
+        String body = "[" + VALID.formatted(0) + ", {\"id\":\"tx1\",\"currency\":\"euro\"}, 42, "
+                + "{\"id\":\"tx3\",\"valueDate\":\"not-a-date\"}, " + VALID.formatted(4) + "]";
+
+        // When
+        List<TransactionBatchRow> rows = readAll(TransactionBatchReader.array(objectMapper, validator, 100, stream(body)));
+
+        // Then
+        assertEquals(5, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals("tx1", rows.get(1).transaction().getId());
+        assertTrue(rows.get(1).error().contains("currency: Currency must be 3 uppercase letters"));
+        assertEquals("Item must be a JSON object", rows.get(2).error());
+        assertTrue(rows.get(3).error().startsWith("Malformed transaction"));
+        assertEquals(4, rows.get(4).index());
+        assertTrue(rows.get(4).isValid());
+    }
+
+    @Test
+    void givenNdjsonWithMalformedLine_whenRead_thenFollowingLinesAreStillRead() {
+        // Given
+        String body = VALID.formatted(0) + "\n{\"id\": \n\n" + VALID.formatted(2) + "\n";
+
+        // When
+        List<TransactionBatchRow> rows = readAll(TransactionBatchReader.ndjson(objectMapper, validator, 100, stream(body)));
+
+        // Then
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertNull(rows.get(1).transaction());
+        assertTrue(rows.get(1).error().startsWith("Malformed transaction"));
+        assertEquals("tx2", rows.get(2).transaction().getId());
+    }
+
+    @Test
+    void givenMoreItemsThanAllowed_whenRead_thenReadingStopsWithRejectedItem() throws Exception {
+        // Given
+        String body = "[" + VALID.formatted(0) + "," + VALID.formatted(1) + "," + VALID.formatted(2) + "]";
+
+        // When
+        List<TransactionBatchRow> rows = readAll(TransactionBatchReader.array(objectMapper, validator, 2, stream(body)));
+
+        // Then
+        assertEquals(3, rows.size());
+        assertEquals(2, rows.get(2).index());
+        assertEquals("Batch exceeds 2 items, the rest was not read", rows.get(2).error());
+    }
+
+    @Test
+    void givenBrokenArray_whenRead_thenItemsBeforeTheErrorAreKept() throws Exception {
+        // Given
+        String body = "[" + VALID.formatted(0) + ", {\"id\": ]";
+
+        // When
+        List<TransactionBatchRow> rows = readAll(TransactionBatchReader.array(objectMapper, validator, 100, stream(body)));
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON, the rest was not read"));
+    }
+
+    @Test
+    void givenObjectInsteadOfArray_whenOpened_thenBadRequest() {
+        // When / Then
+        ApiException error = assertThrows(ApiException.class,
+                () -> TransactionBatchReader.array(objectMapper, validator, 100, stream(VALID.formatted(0))));
+        assertEquals(400, error.getHttpCode());
+    }
+
+    private List<TransactionBatchRow> readAll(Iterator<TransactionBatchRow> reader) {
+        List<TransactionBatchRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
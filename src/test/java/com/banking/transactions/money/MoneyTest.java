@@ -0,0 +1,78 @@
+package com.banking.transactions.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoneyTest {
+
+    @Test
+    void givenCurrencies_whenExponent_thenUsesIsoMinorUnits() {
+        // Given / When / Then
+        assertEquals(2, Money.exponent("IDR"));
+        assertEquals(0, Money.exponent("JPY"));
+        assertEquals(3, Money.exponent("KWD"));
+        assertEquals(2, Money.exponent("XAU"));
+        assertEquals(2, Money.exponent("NOT-A-CURRENCY"));
+    }
+
+    @Test
+    void givenTiesAndNegatives_whenConvert_thenRoundsHalfEven() {
+        // Given
+        BigDecimal rate = new BigDecimal("0.5");
+
+        // When / Then
+        assertEquals(2, Money.convert(new BigDecimal("0.05"), rate, 2));   // 0.025 -> 0.02
+        assertEquals(4, Money.convert(new BigDecimal("0.07"), rate, 2));   // 0.035 -> 0.04
+        assertEquals(-2, Money.convert(new BigDecimal("-0.05"), rate, 2)); // -0.025 -> -0.02
+        assertEquals(11000, Money.convert(new BigDecimal("100.00"), new BigDecimal("1.1"), 2));
+        assertEquals(110, Money.convert(new BigDecimal("100.00"), new BigDecimal("1.1"), 0));
+    }
+
+    @Test
+    void givenRandomAmountsAndRates_whenConvertAndSum_thenMatchesBigDecimalToTheMinorUnit() {
+        // Given
+        Random random = new Random(42);
+        MoneySum sum = new MoneySum();
+        BigDecimal expectedSum = BigDecimal.ZERO;
+
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(-1_000_000_000_00L, 1_000_000_000_00L), 2);
+            BigDecimal rate = BigDecimal.valueOf(random.nextLong(1, 20_000_000_000L), random.nextInt(4, 11));
+
+            // When
+            long converted = Money.convert(amount, rate, 2);
+            sum.add(amount, rate);
+            expectedSum = expectedSum.add(amount.multiply(rate));
+
+            // Then
+            assertEquals(minorUnits(amount.multiply(rate)), converted);
+        }
+        assertEquals(minorUnits(expectedSum), sum.toMinorUnits(2));
+    }
+
+    @Test
+    void givenProductsBeyondLongRange_whenConvertAndSum_thenFallsBackToExactDecimal() {
+        // Given
+        BigDecimal amount = new BigDecimal("90000000000.00");
+        BigDecimal rate = new BigDecimal("16234.123456");
+        MoneySum sum = new MoneySum();
+
+        // When
+        sum.add(amount, rate);
+        sum.subtract(new BigDecimal("0.01"), rate);
+
+        // Then
+        BigDecimal product = amount.multiply(rate);
+        assertEquals(minorUnits(product), Money.convert(amount, rate, 2));
+        assertEquals(minorUnits(product.subtract(new BigDecimal("0.01").multiply(rate))), sum.toMinorUnits(2));
+    }
+
+    private static long minorUnits(BigDecimal exact) {
+        return exact.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
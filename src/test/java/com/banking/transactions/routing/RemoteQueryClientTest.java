@@ -0,0 +1,142 @@
+package com.banking.transactions.routing;
+
+import com.banking.transactions.dto.MonthSummary;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.exception.ApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.streams.state.HostInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RemoteQueryClientTest {
+
+    private static final HostInfo PEER = new HostInfo("peer", 8080);
+
+    private MockRestServiceServer server;
+
+    private RemoteQueryClient client;
+
+    private RestClient restClient;
+
+    private ExecutorService peerQueryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+        peerQueryExecutor = Executors.newSingleThreadExecutor();
+        client = new RemoteQueryClient(restClient, new ObjectMapper(), peerQueryExecutor, Duration.ofSeconds(5));
+
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").claim("user_id", "c1").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        peerQueryExecutor.shutdownNow();
+    }
+
+    @Test
+    void givenPeerAnswersSummary_whenGetMonthSummary_thenReturnsSummaryWithForwardedToken() {
+        // Given
+        server.expect(requestTo("http://peer:8080/internal/v1/transactions/summary?year=2024&month=3&baseCurrency=IDR"))
+                .andExpect(header("Authorization", "Bearer token"))
+                .andRespond(withSuccess("{\"currencies\":[]}", MediaType.APPLICATION_JSON));
+
+        // When
+        MonthSummary summary = client.getMonthSummary(PEER, 2024, 3, "IDR");
+
+        // Then
+        assertTrue(summary.getCurrencies().isEmpty());
+        server.verify();
+    }
+
+    @Test
+    void givenPeerRejectsCursor_whenGetTransactionsAfter_thenRethrowsPeerStatusAndMessage() {
+        // Given
+        server.expect(requestTo("http://peer:8080/internal/v1/transactions/after?year=2024&month=3&cursor=bad&size=20&baseCurrency=IDR"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"code\":400,\"message\":\"Invalid cursor\",\"data\":null}"));
+
+        // When
+        ApiException error = assertThrows(ApiException.class,
+                () -> client.getTransactionsAfter(PEER, 2024, 3, "bad", 20, "IDR", null));
+
+        // Then
+        assertEquals(400, error.getHttpCode());
+        assertEquals("Invalid cursor", error.getMessage());
+    }
+
+    @Test
+    void givenPeerUnavailableWithoutBody_whenGetMonthSummary_thenRethrowsPeerStatus() {
+        // Given
+        server.expect(requestTo("http://peer:8080/internal/v1/transactions/summary?year=2024&month=3&baseCurrency=IDR"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When
+        ApiException error = assertThrows(ApiException.class, () -> client.getMonthSummary(PEER, 2024, 3, "IDR"));
+
+        // Then
+        assertEquals(503, error.getHttpCode());
+        assertEquals("Peer instance answered 503", error.getMessage());
+    }
+
+    @Test
+    void givenPeerAnswersPage_whenGetTransactionsAsync_thenCompletesOffTheCallerThreadWithForwardedToken() throws Exception {
+        // Given
+        server.expect(requestTo("http://peer:8080/internal/v1/transactions?year=2024&month=3&page=0&size=20&baseCurrency=IDR"))
+                .andExpect(header("Authorization", "Bearer token"))
+                .andRespond(withSuccess("{\"transactions\":[]}", MediaType.APPLICATION_JSON));
+
+        // When
+        CompletableFuture<TransactionPageResponse> page = client.getTransactionsAsync(PEER, 2024, 3, 0, 20, "IDR");
+
+        // Then
+        assertTrue(page.get(5, TimeUnit.SECONDS).getTransactions().isEmpty());
+        server.verify();
+    }
+
+    @Test
+    void givenPeerQueryPoolSaturated_whenGetTransactionsAfterAsync_thenFailsWith503WithoutCallingPeer() {
+        // Given
+        client = new RemoteQueryClient(restClient, new ObjectMapper(), task -> {
+            throw new RejectedExecutionException("queue full");
+        }, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<TransactionPageResponse> page = client.getTransactionsAfterAsync(PEER, 2024, 3, "c", 20, "IDR");
+
+        // Then
+        ExecutionException error = assertThrows(ExecutionException.class, page::get);
+        assertEquals(503, assertInstanceOf(ApiException.class, error.getCause()).getHttpCode());
+        server.verify();
+    }
+}
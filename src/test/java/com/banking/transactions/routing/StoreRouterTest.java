@@ -0,0 +1,158 @@
+package com.banking.transactions.routing;
+
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.exception.ApiException;
+import com.banking.transactions.store.CustomerMonthPartitioner;
+import com.banking.transactions.store.TransactionKeyCodec;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.LagInfo;
+import org.apache.kafka.streams.processor.StreamPartitioner;
+import org.apache.kafka.streams.state.HostInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StoreRouterTest {
+
+    private static final HostInfo SELF = new HostInfo("10.0.0.1", 8080);
+    private static final HostInfo PEER = new HostInfo("10.0.0.2", 8080);
+
+    @Mock
+    private StreamsBuilderFactoryBean streamsFactory;
+
+    @Mock
+    private KafkaStreams kafkaStreams;
+
+    private StoreRouter storeRouter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        storeRouter = new StoreRouter(streamsFactory, "10.0.0.1:8080", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void givenMonthOwnedByPeer_whenRemoteTransactionsOwner_thenReturnsPeer() {
+        // Given
+        when(kafkaStreams.queryMetadataForKey(eq(StoreConfig.STORE_NAME), eq(TransactionKeyCodec.monthPrefix("c1", 2024, 3)), customerMonthPartitioner()))
+                .thenReturn(new KeyQueryMetadata(PEER, Set.of(), 1));
+
+        // When
+        Optional<HostInfo> owner = storeRouter.remoteTransactionsOwner("c1", 2024, 3, null);
+
+        // Then
+        assertEquals(Optional.of(PEER), owner);
+    }
+
+    @Test
+    void givenRebalanceInProgress_whenRemoteTransactionsOwner_thenThrowsServiceUnavailable() {
+        // Given
+        when(kafkaStreams.queryMetadataForKey(eq(StoreConfig.STORE_NAME), eq(TransactionKeyCodec.monthPrefix("c1", 2024, 3)), customerMonthPartitioner()))
+                .thenReturn(KeyQueryMetadata.NOT_AVAILABLE);
+
+        // When
+        ApiException ex = assertThrows(ApiException.class, () -> storeRouter.remoteTransactionsOwner("c1", 2024, 3, null));
+
+        // Then
+        assertEquals(503, ex.getHttpCode());
+    }
+
+    @Test
+    void givenNoApplicationServer_whenRemoteTransactionsOwner_thenAlwaysLocal() {
+        // Given
+        StoreRouter singleInstance = new StoreRouter(streamsFactory, "", Duration.ofSeconds(1));
+
+        // When
+        Optional<HostInfo> owner = singleInstance.remoteTransactionsOwner("c1", 2024, 3, null);
+
+        // Then
+        assertTrue(owner.isEmpty());
+        verifyNoInteractions(kafkaStreams);
+    }
+
+    @Test
+    void givenStandbyWithinMaxLag_whenRemoteTransactionsOwner_thenServesLocally() {
+        // Given
+        when(kafkaStreams.queryMetadataForKey(eq(StoreConfig.STORE_NAME), eq(TransactionKeyCodec.monthPrefix("c1", 2024, 3)), customerMonthPartitioner()))
+                .thenReturn(new KeyQueryMetadata(PEER, Set.of(SELF), 1));
+        stubLag(StoreConfig.STORE_NAME, 1, 40);
+
+        // When
+        Optional<HostInfo> owner = storeRouter.remoteTransactionsOwner("c1", 2024, 3, 100L);
+
+        // Then
+        assertTrue(owner.isEmpty());
+    }
+
+    @Test
+    void givenStandbyBeyondMaxLag_whenRemoteTransactionsOwner_thenForwardsToActive() {
+        // Given
+        when(kafkaStreams.queryMetadataForKey(eq(StoreConfig.STORE_NAME), eq(TransactionKeyCodec.monthPrefix("c1", 2024, 3)), customerMonthPartitioner()))
+                .thenReturn(new KeyQueryMetadata(PEER, Set.of(SELF), 1));
+        stubLag(StoreConfig.STORE_NAME, 1, 500);
+
+        // When
+        Optional<HostInfo> owner = storeRouter.remoteTransactionsOwner("c1", 2024, 3, 100L);
+
+        // Then
+        assertEquals(Optional.of(PEER), owner);
+    }
+
+    @Test
+    void givenRebalanceInProgressAndMaxLag_whenRemoteTransactionsOwner_thenTriesLocalCopy() {
+        // Given
+        when(kafkaStreams.queryMetadataForKey(eq(StoreConfig.STORE_NAME), eq(TransactionKeyCodec.monthPrefix("c1", 2024, 3)), customerMonthPartitioner()))
+                .thenReturn(KeyQueryMetadata.NOT_AVAILABLE);
+        stubLag(StoreConfig.STORE_NAME, 1, 7);
+
+        // When
+        Optional<HostInfo> owner = storeRouter.remoteTransactionsOwner("c1", 2024, 3, 100L);
+        long lag = storeRouter.transactionsLag("c1", 2024, 3);
+
+        // Then
+        assertTrue(owner.isEmpty());
+        assertEquals(7, lag);
+    }
+
+    @Test
+    void givenPartitionNotHostedLocally_whenTransactionsLag_thenThrowsServiceUnavailable() {
+        // Given
+        when(kafkaStreams.queryMetadataForKey(eq(StoreConfig.STORE_NAME), eq(TransactionKeyCodec.monthPrefix("c1", 2024, 3)), customerMonthPartitioner()))
+                .thenReturn(new KeyQueryMetadata(PEER, Set.of(), 2));
+        stubLag(StoreConfig.STORE_NAME, 1, 0);
+
+        // When
+        ApiException ex = assertThrows(ApiException.class, () -> storeRouter.transactionsLag("c1", 2024, 3));
+
+        // Then
+        assertEquals(503, ex.getHttpCode());
+    }
+
+    private void stubLag(String storeName, int partition, long offsetLag) {
+        LagInfo lagInfo = mock(LagInfo.class);
+        when(lagInfo.offsetLag()).thenReturn(offsetLag);
+        when(kafkaStreams.allLocalStorePartitionLags()).thenReturn(Map.of(storeName, Map.of(partition, lagInfo)));
+    }
+
+    private static StreamPartitioner<String, Object> customerMonthPartitioner() {
+        return argThat(partitioner -> partitioner instanceof CustomerMonthPartitioner);
+    }
+}
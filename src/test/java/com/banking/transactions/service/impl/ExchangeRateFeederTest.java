@@ -0,0 +1,122 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.service.IExchangeRateService;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExchangeRateFeederTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private StreamsBuilderFactoryBean streamsFactory;
+
+    @Mock
+    private KafkaStreams kafkaStreams;
+
+    @Mock
+    private ReadOnlyKeyValueStore<String, ExchangeRate> ratesStore;
+
+    @Mock
+    private IExchangeRateService provider;
+
+    @Mock
+    private KafkaTemplate<String, ExchangeRate> rateKafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<Collection<RateKey>> requested;
+
+    private ExchangeRateFeeder feeder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        when(kafkaStreams.store(any())).thenReturn(ratesStore);
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        feeder = new ExchangeRateFeeder(streamsFactory, provider, rateKafkaTemplate, List.of("EUR", "IDR"), 1, clock);
+    }
+
+    @Test
+    void givenYesterdayPartlyFed_whenFeed_thenFetchesMissingPastAndAllCurrentRatesAndPublishesThem() {
+        // Given
+        when(ratesStore.get("EUR:IDR:2024-03-14"))
+                .thenReturn(new ExchangeRate("EUR", "IDR", TODAY.minusDays(1), new BigDecimal("17000")));
+        when(ratesStore.get("EUR:IDR:2024-03-15"))
+                .thenReturn(new ExchangeRate("EUR", "IDR", TODAY, new BigDecimal("17000")));
+        when(provider.getRatesAsync(anyCollection())).thenAnswer(invocation -> {
+            Collection<RateKey> keys = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(keys.stream()
+                    .collect(Collectors.toMap(Function.identity(), key -> new BigDecimal("2"))));
+        });
+
+        // When
+        feeder.feed();
+
+        // Then
+        verify(provider).getRatesAsync(requested.capture());
+        assertEquals(Set.of(
+                new RateKey("IDR", "EUR", TODAY.minusDays(1)),
+                new RateKey("EUR", "IDR", TODAY),
+                new RateKey("IDR", "EUR", TODAY)), Set.copyOf(requested.getValue()));
+        verify(rateKafkaTemplate).send(eq(StoreConfig.RATES_TOPIC), eq("IDR:EUR:2024-03-14"), any(ExchangeRate.class));
+        verify(rateKafkaTemplate).send(eq(StoreConfig.RATES_TOPIC), eq("EUR:IDR:2024-03-15"), any(ExchangeRate.class));
+        verify(rateKafkaTemplate).send(eq(StoreConfig.RATES_TOPIC), eq("IDR:EUR:2024-03-15"), any(ExchangeRate.class));
+    }
+
+    @Test
+    void givenProviderDown_whenFeed_thenPublishesNothing() {
+        // Given
+        when(provider.getRatesAsync(anyCollection()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+
+        // When
+        feeder.feed();
+
+        // Then
+        verify(rateKafkaTemplate, never()).send(anyString(), anyString(), any(ExchangeRate.class));
+    }
+
+    @Test
+    void givenStreamsNotStarted_whenFeed_thenSkipsRunWithoutCallingProvider() {
+        // Given
+        when(streamsFactory.getKafkaStreams()).thenReturn(null);
+
+        // When
+        feeder.feed();
+
+        // Then
+        verify(provider, never()).getRatesAsync(anyCollection());
+    }
+}
@@ -1,29 +1,67 @@
 package com.banking.transactions.service.impl;
 
 
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.service.RateDeadline;
+import com.banking.transactions.stub.RateProviderStub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class ExchangeRateServiceTest {
 
+    private static final int MAX_PAIRS_PER_CALL = 100;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private RateProviderStub providerStub;
+
+    private CloseableHttpAsyncClient httpClient;
+
     private ExchangeRateService exchangeRateService;
 
     @BeforeEach
-    void setUp() {
-        exchangeRateService = new ExchangeRateService();
+    void setUp() throws IOException {
+        providerStub = new RateProviderStub(objectMapper, 0, Duration.ofMillis(500), BigDecimal.valueOf(1.1));
+        providerStub.start();
+        httpClient = HttpAsyncClients.createDefault();
+        httpClient.start();
+        exchangeRateService = serviceWithBatchSize(MAX_PAIRS_PER_CALL);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        providerStub.stop();
+    }
+
+    private ExchangeRateService serviceWithBatchSize(int maxPairsPerCall) {
+        return new ExchangeRateService(httpClient, objectMapper,
+                "http://localhost:" + providerStub.getPort(), maxPairsPerCall);
     }
 
     @Test
@@ -188,5 +226,103 @@ class ExchangeRateServiceTest {
         assertEquals(BigDecimal.ONE, result.get(1, TimeUnit.SECONDS));
     }
 
+    @Test
+    void givenDuplicateAndIdentityKeys_whenGetRatesAsync_thenResolvesEachDistinctKeyOnce() throws ExecutionException, InterruptedException, TimeoutException {
+        // Given
+        LocalDate date = LocalDate.of(2024, 3, 15);
+        List<RateKey> keys = List.of(
+                new RateKey("USD", "EUR", date),
+                new RateKey("USD", "EUR", date),
+                new RateKey("GBP", "EUR", date),
+                new RateKey("EUR", "EUR", date));
+
+        // When
+        Map<RateKey, BigDecimal> rates = exchangeRateService.getRatesAsync(keys).get(2, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(3, rates.size());
+        assertEquals(BigDecimal.valueOf(1.1), rates.get(new RateKey("USD", "EUR", date)));
+        assertEquals(BigDecimal.valueOf(1.1), rates.get(new RateKey("GBP", "EUR", date)));
+        assertEquals(BigDecimal.ONE, rates.get(new RateKey("EUR", "EUR", date)));
+    }
+
+    @Test
+    void givenManyKeys_whenGetRatesAsync_thenTakesOneRoundTrip() throws ExecutionException, InterruptedException, TimeoutException {
+        // Given
+        List<RateKey> keys = IntStream.rangeClosed(1, 20)
+                .mapToObj(day -> new RateKey("USD", "EUR", LocalDate.of(2024, 3, day)))
+                .toList();
+
+        // When
+        long startTime = System.currentTimeMillis();
+        Map<RateKey, BigDecimal> rates = exchangeRateService.getRatesAsync(keys).get(2, TimeUnit.SECONDS);
+        long duration = System.currentTimeMillis() - startTime;
+
+        // Then
+        assertEquals(20, rates.size());
+        assertTrue(duration < 1000, "Expected a single simulated round trip, took " + duration + "ms");
+    }
+
+    @Test
+    void givenMoreKeysThanBatchSize_whenGetRatesAsync_thenSplitsIntoConcurrentProviderCalls() throws ExecutionException, InterruptedException, TimeoutException {
+        // Given
+        ExchangeRateService batching = serviceWithBatchSize(5);
+        List<RateKey> keys = IntStream.rangeClosed(1, 12)
+                .mapToObj(day -> new RateKey("USD", "EUR", LocalDate.of(2024, 3, day)))
+                .toList();
+
+        // When
+        long startTime = System.currentTimeMillis();
+        Map<RateKey, BigDecimal> rates = batching.getRatesAsync(keys).get(2, TimeUnit.SECONDS);
+        long duration = System.currentTimeMillis() - startTime;
+
+        // Then
+        assertEquals(12, rates.size());
+        assertEquals(3, providerStub.getCalls());
+        assertTrue(duration < 1000, "Expected the batches to run concurrently, took " + duration + "ms");
+    }
+
+    @Test
+    void givenProviderUnreachable_whenGetRatesAsync_thenCompletesExceptionally() {
+        // Given
+        providerStub.stop();
 
-}
\ No newline at end of file
+        // When
+        CompletableFuture<Map<RateKey, BigDecimal>> result = exchangeRateService.getRatesAsync(
+                List.of(new RateKey("USD", "EUR", LocalDate.of(2024, 3, 15))));
+
+        // Then
+        assertThrows(ExecutionException.class, () -> result.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenProviderSlowerThanDeadline_whenGetRatesAsync_thenGivesUpAtDeadline() {
+        // Given
+        RateDeadline deadline = RateDeadline.after(Duration.ofMillis(100));
+
+        // When
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<Map<RateKey, BigDecimal>> result = exchangeRateService.getRatesAsync(
+                List.of(new RateKey("USD", "EUR", LocalDate.of(2024, 3, 15))), deadline);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(2, TimeUnit.SECONDS));
+        long duration = System.currentTimeMillis() - startTime;
+
+        // Then
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(duration < 500, "Expected to give up before the provider answered, took " + duration + "ms");
+    }
+
+    @Test
+    void givenExpiredDeadline_whenGetRatesAsync_thenFailsWithoutCallingProvider() {
+        // Given
+        RateDeadline deadline = RateDeadline.after(Duration.ZERO);
+
+        // When
+        CompletableFuture<Map<RateKey, BigDecimal>> result = exchangeRateService.getRatesAsync(
+                List.of(new RateKey("USD", "EUR", LocalDate.of(2024, 3, 15))), deadline);
+
+        // Then
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, providerStub.getCalls());
+    }
+}
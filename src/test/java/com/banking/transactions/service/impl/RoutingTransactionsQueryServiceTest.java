@@ -0,0 +1,106 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.dto.MonthSummary;
+import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.routing.RemoteQueryClient;
+import com.banking.transactions.routing.StoreRouter;
+import org.apache.kafka.streams.state.HostInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoutingTransactionsQueryServiceTest {
+
+    @Mock
+    private TransactionsQueryService localQueryService;
+
+    @Mock
+    private StoreRouter storeRouter;
+
+    @Mock
+    private RemoteQueryClient remoteQueryClient;
+
+    @InjectMocks
+    private RoutingTransactionsQueryService routingQueryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void givenLocallyOwnedMonth_whenGetTransactions_thenQueriesLocalStore() {
+        // Given
+        TransactionPageResponse local = new TransactionPageResponse();
+        when(storeRouter.remoteTransactionsOwner("c1", 2024, 3, null)).thenReturn(Optional.empty());
+        when(localQueryService.getTransactions("c1", 2024, 3, 0, 20, "IDR", null)).thenReturn(local);
+
+        // When
+        TransactionPageResponse result = routingQueryService.getTransactions("c1", 2024, 3, 0, 20, "IDR", null);
+
+        // Then
+        assertSame(local, result);
+        verify(remoteQueryClient, never()).getTransactions(any(), anyInt(), anyInt(), anyInt(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void givenMonthOwnedByPeer_whenGetTransactionsAfter_thenForwardsToPeer() {
+        // Given
+        HostInfo peer = new HostInfo("10.0.0.2", 8080);
+        TransactionPageResponse remote = new TransactionPageResponse();
+        when(storeRouter.remoteTransactionsOwner("c1", 2024, 3, null)).thenReturn(Optional.of(peer));
+        when(remoteQueryClient.getTransactionsAfter(peer, 2024, 3, "cursor", 20, "IDR", null)).thenReturn(remote);
+
+        // When
+        TransactionPageResponse result = routingQueryService.getTransactionsAfter("c1", 2024, 3, "cursor", 20, "IDR", null);
+
+        // Then
+        assertSame(remote, result);
+        verify(localQueryService, never()).getTransactionsAfter(anyString(), anyInt(), anyInt(), anyString(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void givenMonthOwnedByPeer_whenGetTransactionsAsync_thenReturnsPeerFutureWithoutBlockingCall() {
+        // Given
+        HostInfo peer = new HostInfo("10.0.0.2", 8080);
+        CompletableFuture<TransactionPageResponse> remote = new CompletableFuture<>();
+        when(storeRouter.remoteTransactionsOwner("c1", 2024, 3, null)).thenReturn(Optional.of(peer));
+        when(remoteQueryClient.getTransactionsAsync(peer, 2024, 3, 0, 20, "IDR")).thenReturn(remote);
+
+        // When
+        CompletableFuture<TransactionPageResponse> result = routingQueryService.getTransactionsAsync("c1", 2024, 3, 0, 20, "IDR");
+
+        // Then
+        assertSame(remote, result);
+        verify(remoteQueryClient, never()).getTransactions(any(), anyInt(), anyInt(), anyInt(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void givenMonthOwnedByPeer_whenGetMonthSummary_thenForwardsToTheRowsOwner() {
+        // Given
+        HostInfo peer = new HostInfo("10.0.0.2", 8080);
+        MonthSummary remote = new MonthSummary();
+        when(storeRouter.remoteTransactionsOwner("c1", 2024, 3, null)).thenReturn(Optional.of(peer));
+        when(remoteQueryClient.getMonthSummary(peer, 2024, 3, "IDR")).thenReturn(remote);
+
+        // When
+        MonthSummary result = routingQueryService.getMonthSummary("c1", 2024, 3, "IDR");
+
+        // Then
+        assertSame(remote, result);
+        verify(localQueryService, never()).getMonthSummary(anyString(), anyInt(), anyInt(), anyString());
+    }
+}
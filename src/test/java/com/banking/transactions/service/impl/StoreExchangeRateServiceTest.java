@@ -0,0 +1,95 @@
+package com.banking.transactions.service.impl;
+
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class StoreExchangeRateServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private StreamsBuilderFactoryBean streamsFactory;
+
+    @Mock
+    private KafkaStreams kafkaStreams;
+
+    @Mock
+    private ReadOnlyKeyValueStore<String, ExchangeRate> ratesStore;
+
+    private StoreExchangeRateService storeExchangeRateService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        when(kafkaStreams.store(any())).thenReturn(ratesStore);
+        storeExchangeRateService = new StoreExchangeRateService(streamsFactory);
+    }
+
+    @Test
+    void givenRatesInStore_whenGetRatesAsync_thenAnswersLocallyWithoutProvider() {
+        // Given
+        RateKey eur = new RateKey("EUR", "IDR", DATE);
+        RateKey idr = new RateKey("IDR", "IDR", DATE);
+        when(ratesStore.get("EUR:IDR:2024-03-15")).thenReturn(new ExchangeRate("EUR", "IDR", DATE, new BigDecimal("17000")));
+
+        // When
+        CompletableFuture<Map<RateKey, BigDecimal>> result = storeExchangeRateService.getRatesAsync(List.of(eur, idr));
+
+        // Then
+        assertTrue(result.isDone());
+        assertEquals(Map.of(eur, new BigDecimal("17000"), idr, BigDecimal.ONE), result.join());
+    }
+
+    @Test
+    void givenRateMissingFromStore_whenGetRatesAsync_thenLeavesItOutWithoutWaiting() {
+        // Given
+        RateKey eur = new RateKey("EUR", "IDR", DATE);
+        RateKey gbp = new RateKey("GBP", "IDR", DATE);
+        when(ratesStore.get("EUR:IDR:2024-03-15")).thenReturn(new ExchangeRate("EUR", "IDR", DATE, new BigDecimal("17000")));
+
+        // When
+        CompletableFuture<Map<RateKey, BigDecimal>> result = storeExchangeRateService.getRatesAsync(List.of(eur, gbp));
+
+        // Then
+        assertTrue(result.isDone());
+        assertEquals(Map.of(eur, new BigDecimal("17000")), result.join());
+    }
+
+    @Test
+    void givenStoreRebalancing_whenGetRatesAsync_thenReturnsFailedFutureInsteadOfThrowing() {
+        // Given
+        when(kafkaStreams.store(any()))
+                .thenThrow(new InvalidStateStoreException("rebalancing"));
+
+        // When
+        CompletableFuture<Map<RateKey, BigDecimal>> result =
+                storeExchangeRateService.getRatesAsync(List.of(new RateKey("EUR", "IDR", DATE)));
+
+        // Then
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(InvalidStateStoreException.class, error.getCause());
+    }
+}
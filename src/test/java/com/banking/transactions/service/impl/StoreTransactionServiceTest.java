@@ -1,27 +1,45 @@
 package com.banking.transactions.service.impl;
 
 
+import com.banking.transactions.cache.TransactionWriteStatusCache;
 import com.banking.transactions.config.StoreConfig;
 import com.banking.transactions.dto.Transaction;
+import com.banking.transactions.dto.TransactionBatchItemResult;
+import com.banking.transactions.dto.TransactionBatchResponse;
+import com.banking.transactions.dto.TransactionBatchRow;
+import com.banking.transactions.dto.TransactionWrite;
+import com.banking.transactions.dto.TransactionWriteStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,12 +53,18 @@ class StoreTransactionServiceTest {
     @Mock
     private CompletableFuture<SendResult<String, Transaction>> sendResultFuture;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransactionWriteStatusCache writeStatusCache;
+
     private StoreTransactionService storeTransactionService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        writeStatusCache = new TransactionWriteStatusCache(100, Duration.ofMinutes(1), meterRegistry);
+        storeTransactionService = service(Duration.ofSeconds(30));
     }
 
     @Test
@@ -219,7 +243,7 @@ class StoreTransactionServiceTest {
     }
 
     @Test
-    void givenKafkaTemplateThrowsException_whenStoreTransaction_thenExceptionPropagates() {
+    void givenKafkaTemplateThrowsException_whenStoreTransaction_thenWriteFailsExceptionally() {
         // Given
         Transaction transaction = createTestTransaction();
         RuntimeException kafkaException = new RuntimeException("Kafka connection failed");
@@ -227,13 +251,81 @@ class StoreTransactionServiceTest {
         when(kafkaTemplate.send(anyString(), anyString(), any(Transaction.class)))
                 .thenThrow(kafkaException);
 
-        // When & Then
-        RuntimeException thrownException = assertThrows(RuntimeException.class, () ->
-                storeTransactionService.storeTransaction(transaction));
+        // When
+        TransactionWrite write = storeTransactionService.storeTransaction(transaction);
 
-        assertEquals("Kafka connection failed", thrownException.getMessage());
+        // Then
+        CompletionException thrownException = assertThrows(CompletionException.class, () -> write.outcome().join());
+        assertSame(kafkaException, thrownException.getCause());
+        TransactionWriteStatus status = writeStatusCache.get(write.trackingId()).orElseThrow();
+        assertEquals(TransactionWriteStatus.State.FAILED, status.getState());
+        assertEquals("Kafka connection failed", status.getError());
         verify(kafkaTemplate, times(1))
                 .send(StoreConfig.TRANSACTION_TOPIC, transaction.getId(), transaction);
+        assertEquals(1, meterRegistry.get("transactions.write.failures")
+                .tag("exception", "RuntimeException").counter().count());
+    }
+
+    @Test
+    void givenKafkaAcknowledges_whenStoreTransaction_thenWriteIsStoredWithItsOffset() {
+        // Given
+        Transaction transaction = createTestTransaction();
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(StoreConfig.TRANSACTION_TOPIC, 3), 41L, 1, 0L, 0, 0);
+        when(kafkaTemplate.send(anyString(), anyString(), any(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(
+                        new ProducerRecord<>(StoreConfig.TRANSACTION_TOPIC, transaction.getId(), transaction), metadata)));
+
+        // When
+        TransactionWrite write = storeTransactionService.storeTransaction(transaction);
+
+        // Then
+        TransactionWriteStatus status = write.outcome().join();
+        assertEquals(TransactionWriteStatus.State.STORED, status.getState());
+        assertEquals(transaction.getId(), status.getTransactionId());
+        assertEquals(3, status.getPartition());
+        assertEquals(42L, status.getOffset());
+        assertEquals(status, writeStatusCache.get(write.trackingId()).orElseThrow());
+        assertEquals(1, meterRegistry.get("transactions.write.latency").tag("outcome", "stored").timer().count());
+        assertEquals(0, meterRegistry.get("transactions.write.pending").gauge().value());
+    }
+
+    @Test
+    void givenKafkaRejectsWrite_whenStoreTransaction_thenWriteFailsAndFailureIsCounted() {
+        // Given
+        Transaction transaction = createTestTransaction();
+        when(kafkaTemplate.send(anyString(), anyString(), any(Transaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new IllegalStateException("wrapped", new IllegalArgumentException("Record too large"))));
+
+        // When
+        TransactionWrite write = storeTransactionService.storeTransaction(transaction);
+
+        // Then
+        TransactionWriteStatus status = write.outcome().join();
+        assertEquals(TransactionWriteStatus.State.FAILED, status.getState());
+        assertEquals("Record too large", status.getError());
+        assertEquals(TransactionWriteStatus.State.FAILED, writeStatusCache.get(write.trackingId()).orElseThrow().getState());
+        assertEquals(1, meterRegistry.get("transactions.write.latency").tag("outcome", "failed").timer().count());
+        assertEquals(1, meterRegistry.get("transactions.write.failures")
+                .tag("exception", "IllegalArgumentException").counter().count());
+    }
+
+    @Test
+    void givenKafkaHasNotAnswered_whenStoreTransaction_thenWriteIsPending() {
+        // Given
+        Transaction transaction = createTestTransaction();
+        CompletableFuture<SendResult<String, Transaction>> send = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any(Transaction.class))).thenReturn(send);
+
+        // When
+        TransactionWrite write = storeTransactionService.storeTransaction(transaction);
+
+        // Then
+        assertFalse(write.outcome().isDone());
+        TransactionWriteStatus status = writeStatusCache.get(write.trackingId()).orElseThrow();
+        assertEquals(TransactionWriteStatus.State.PENDING, status.getState());
+        assertEquals("P-0123456789", status.getCustomerId());
+        assertEquals(1, meterRegistry.get("transactions.write.pending").gauge().value());
     }
 
     @Test
@@ -251,6 +343,96 @@ class StoreTransactionServiceTest {
                 .send(StoreConfig.TRANSACTION_TOPIC, transaction.getId(), transaction);
     }
 
+    @Test
+    void givenBatchRows_whenStoreTransactions_thenValidRowsAreSentAndEveryRowIsReported() {
+        // Given
+        StoreTransactionService service = service(Duration.ofSeconds(1));
+        Transaction accepted = createTestTransaction("tx_001", new BigDecimal("100.00"));
+        Transaction failing = createTestTransaction("tx_003", new BigDecimal("300.00"));
+        when(kafkaTemplate.send(StoreConfig.TRANSACTION_TOPIC, "tx_001", accepted))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(StoreConfig.TRANSACTION_TOPIC, "tx_003", failing))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+        List<TransactionBatchRow> rows = List.of(
+                TransactionBatchRow.valid(0, accepted),
+                TransactionBatchRow.rejected(1, null, "Item must be a JSON object"),
+                TransactionBatchRow.valid(2, failing));
+
+        // When
+        TransactionBatchResponse response = service.storeTransactions(rows.iterator()).join();
+
+        // Then
+        verify(kafkaTemplate, times(2)).send(eq(StoreConfig.TRANSACTION_TOPIC), anyString(), any(Transaction.class));
+        verify(kafkaTemplate, never()).flush();
+        assertEquals(3, response.getReceived());
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertEquals(1, response.getFailed());
+        assertEquals(List.of(TransactionBatchItemResult.Status.ACCEPTED, TransactionBatchItemResult.Status.REJECTED,
+                        TransactionBatchItemResult.Status.FAILED),
+                response.getItems().stream().map(TransactionBatchItemResult::getStatus).toList());
+        assertEquals("Broker unavailable", response.getItems().get(2).getError());
+    }
+
+    @Test
+    void givenUnacknowledgedSend_whenStoreTransactions_thenRowFailsAfterTimeout() {
+        // Given
+        StoreTransactionService service = service(Duration.ofMillis(50));
+        Transaction transaction = createTestTransaction();
+        when(kafkaTemplate.send(anyString(), anyString(), any(Transaction.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        TransactionBatchResponse response =
+                service.storeTransactions(List.of(TransactionBatchRow.valid(0, transaction)).iterator()).join();
+
+        // Then
+        assertEquals(1, response.getFailed());
+        assertEquals("test_tx_123", response.getItems().get(0).getId());
+        assertEquals("Not acknowledged within PT0.05S", response.getItems().get(0).getError());
+    }
+
+    @Test
+    void givenBodyUnreadableMidway_whenStoreTransactions_thenSentRowsAreReportedWithTheBreak() {
+        // Given
+        StoreTransactionService service = service(Duration.ofSeconds(1));
+        Transaction transaction = createTestTransaction();
+        when(kafkaTemplate.send(anyString(), anyString(), any(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Iterator<TransactionBatchRow> rows = new Iterator<>() {
+            private boolean read;
+
+            @Override
+            public boolean hasNext() {
+                if (read) {
+                    throw new UncheckedIOException(new IOException("Connection reset"));
+                }
+                return true;
+            }
+
+            @Override
+            public TransactionBatchRow next() {
+                read = true;
+                return TransactionBatchRow.valid(0, transaction);
+            }
+        };
+
+        // When
+        TransactionBatchResponse response = service.storeTransactions(rows).join();
+
+        // Then
+        verify(kafkaTemplate, never()).flush();
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertEquals(1, response.getItems().get(1).getIndex());
+        assertEquals("Body could not be read, the rest was not stored: Connection reset",
+                response.getItems().get(1).getError());
+    }
+
+    private StoreTransactionService service(Duration ackTimeout) {
+        return new StoreTransactionService(kafkaTemplate, ackTimeout, writeStatusCache, meterRegistry);
+    }
+
     private Transaction createTestTransaction() {
         return createTestTransaction("test_tx_123", new BigDecimal("250.75"));
     }
@@ -263,6 +445,7 @@ class StoreTransactionServiceTest {
                 .accountIban("DE89370400440532013000")
                 .valueDate(LocalDate.of(2024, 3, 15))
                 .description("Test transaction")
+                .customerId("P-0123456789")
                 .type(Transaction.TransactionType.CREDIT)
                 .build();
     }
@@ -1,10 +1,23 @@
 package com.banking.transactions.service.impl;
 
+import com.banking.transactions.cache.PageKey;
+import com.banking.transactions.cache.TransactionPageCache;
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.dto.CurrencySummary;
+import com.banking.transactions.dto.MonthSummary;
 import com.banking.transactions.dto.PageSummary;
+import com.banking.transactions.dto.RateKey;
 import com.banking.transactions.dto.Transaction;
 import com.banking.transactions.dto.TransactionDTO;
 import com.banking.transactions.dto.TransactionPageResponse;
+import com.banking.transactions.exception.ApiException;
+import com.banking.transactions.routing.RemoteQueryClient;
+import com.banking.transactions.routing.StoreRouter;
 import com.banking.transactions.service.IExchangeRateService;
+import com.banking.transactions.service.RateDeadline;
+import com.banking.transactions.store.MonthTotals;
+import com.banking.transactions.store.TransactionKeyCodec;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.StoreQueryParameters;
@@ -12,50 +25,90 @@ import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.config.StreamsBuilderFactoryBean;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class TransactionsQueryServiceTest {
 
+    private static final Duration RATE_DEADLINE = Duration.ofMillis(100);
+
     @Mock
     private StreamsBuilderFactoryBean streamsFactory;
 
     @Mock
     private IExchangeRateService exchangeRateService;
 
+    @Mock
+    private TransactionPageCache pageCache;
+
+    @Mock
+    private StoreRouter storeRouter;
+
+    @Mock
+    private RemoteQueryClient remoteQueryClient;
+
     @Mock
     private KafkaStreams kafkaStreams;
 
     @Mock
     private ReadOnlyKeyValueStore<String, Transaction> store;
 
+    @Mock
+    private ReadOnlyKeyValueStore<String, Long> countStore;
+
+    @Mock
+    private ReadOnlyKeyValueStore<String, MonthTotals> summaryStore;
+
     @Mock
     private KeyValueIterator<String, Transaction> iterator;
 
-    @InjectMocks
     private TransactionsQueryService transactionsQueryService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        transactionsQueryService = new TransactionsQueryService(streamsFactory, exchangeRateService, pageCache,
+                storeRouter, remoteQueryClient, RATE_DEADLINE);
+        when(pageCache.get(any(PageKey.class), any())).thenAnswer(invocation ->
+                invocation.<Supplier<TransactionPageResponse>>getArgument(1).get());
+        when(pageCache.getAsync(any(PageKey.class), any())).thenAnswer(invocation ->
+                invocation.<Supplier<CompletableFuture<TransactionPageResponse>>>getArgument(1).get());
     }
 
     @Test
@@ -71,15 +124,14 @@ class TransactionsQueryServiceTest {
         List<KeyValue<String, Transaction>> mockTransactions = createMockTransactions(customerId, year, month);
 
         when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
-        when(kafkaStreams.store(any(StoreQueryParameters.class))).thenReturn(store);
-        when(store.all()).thenReturn(iterator);
+        setupStores();
 
         setupIteratorMock(mockTransactions);
         setupExchangeRateServiceMock();
 
         // When
         TransactionPageResponse result = transactionsQueryService.getTransactions(
-                customerId, year, month, page, size, baseCurrency);
+                customerId, year, month, page, size, baseCurrency, null);
 
         // Then
         assertNotNull(result);
@@ -114,19 +166,19 @@ class TransactionsQueryServiceTest {
         List<KeyValue<String, Transaction>> mockTransactions = createMockTransactions(customerId, year, month);
 
         when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
-        when(kafkaStreams.store(any(StoreQueryParameters.class))).thenReturn(store);
-        when(store.all()).thenReturn(iterator);
+        setupStores();
 
         setupIteratorMock(mockTransactions);
         setupExchangeRateServiceMock();
 
         // When
         TransactionPageResponse result = transactionsQueryService.getTransactions(
-                customerId, year, month, page, size, baseCurrency);
+                customerId, year, month, page, size, baseCurrency, null);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTransactions().size()); // Last page with 1 item
+        assertEquals("customer123_tx1", result.getTransactions().get(0).getId()); // oldest row
         assertEquals(3, result.getPageInfo().getTotalElements());
         assertEquals(2, result.getPageInfo().getTotalPages());
         assertEquals(1, result.getPageInfo().getPage());
@@ -148,22 +200,23 @@ class TransactionsQueryServiceTest {
         String baseCurrency = "USD";
 
         when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
-        when(kafkaStreams.store(any(StoreQueryParameters.class))).thenReturn(store);
-        when(store.all()).thenReturn(iterator);
+        setupStores();
+        when(store.prefixScan(anyString(), any(StringSerializer.class))).thenReturn(iterator);
         when(iterator.hasNext()).thenReturn(false);
 
         // When
         TransactionPageResponse result = transactionsQueryService.getTransactions(
-                customerId, year, month, page, size, baseCurrency);
+                customerId, year, month, page, size, baseCurrency, null);
 
         // Then
         assertNotNull(result);
         assertTrue(result.getTransactions().isEmpty());
         assertEquals(0, result.getPageInfo().getTotalElements());
         assertEquals(0, result.getPageInfo().getTotalPages());
-        assertEquals(BigDecimal.ZERO, result.getSummary().getTotalCredits());
-        assertEquals(BigDecimal.ZERO, result.getSummary().getTotalDebits());
-        assertEquals(BigDecimal.ZERO, result.getSummary().getNetAmount());
+        // totals carry the minor-unit digits of the base currency
+        assertEquals(new BigDecimal("0.00"), result.getSummary().getTotalCredits());
+        assertEquals(new BigDecimal("0.00"), result.getSummary().getTotalDebits());
+        assertEquals(new BigDecimal("0.00"), result.getSummary().getNetAmount());
         assertEquals(0, result.getSummary().getTransactionCount());
     }
 
@@ -180,15 +233,14 @@ class TransactionsQueryServiceTest {
         List<KeyValue<String, Transaction>> mockTransactions = createMixedTransactionTypes(customerId, year, month);
 
         when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
-        when(kafkaStreams.store(any(StoreQueryParameters.class))).thenReturn(store);
-        when(store.all()).thenReturn(iterator);
+        setupStores();
 
         setupIteratorMock(mockTransactions);
         setupExchangeRateServiceMock();
 
         // When
         TransactionPageResponse result = transactionsQueryService.getTransactions(
-                customerId, year, month, page, size, baseCurrency);
+                customerId, year, month, page, size, baseCurrency, null);
 
         // Then
         assertNotNull(result);
@@ -214,7 +266,7 @@ class TransactionsQueryServiceTest {
 
         // When & Then
         assertThrows(RuntimeException.class, () ->
-                transactionsQueryService.getTransactions(customerId, year, month, page, size, baseCurrency));
+                transactionsQueryService.getTransactions(customerId, year, month, page, size, baseCurrency, null));
     }
 
     @Test
@@ -230,18 +282,16 @@ class TransactionsQueryServiceTest {
         List<KeyValue<String, Transaction>> mockTransactions = createMockTransactions(customerId, year, month);
 
         when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
-        when(kafkaStreams.store(any(StoreQueryParameters.class))).thenReturn(store);
-        when(store.all()).thenReturn(iterator);
+        setupStores();
 
         setupIteratorMock(mockTransactions);
 
         // Different exchange rate for EUR conversion
-        when(exchangeRateService.getRateAsync(anyString(), eq("EUR"), any(LocalDate.class)))
-                .thenReturn(CompletableFuture.completedFuture(new BigDecimal("0.85")));
+        setupExchangeRateServiceMock(key -> new BigDecimal("0.85"));
 
         // When
         TransactionPageResponse result = transactionsQueryService.getTransactions(
-                customerId, year, month, page, size, baseCurrency);
+                customerId, year, month, page, size, baseCurrency, null);
 
         // Then
         assertNotNull(result);
@@ -268,15 +318,14 @@ class TransactionsQueryServiceTest {
         allTransactions.addAll(createMockTransactions(otherCustomerId, year, month));
 
         when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
-        when(kafkaStreams.store(any(StoreQueryParameters.class))).thenReturn(store);
-        when(store.all()).thenReturn(iterator);
+        setupStores();
 
         setupIteratorMock(allTransactions);
         setupExchangeRateServiceMock();
 
         // When
         TransactionPageResponse result = transactionsQueryService.getTransactions(
-                customerId, year, month, page, size, baseCurrency);
+                customerId, year, month, page, size, baseCurrency, null);
 
         // Then
         assertNotNull(result);
@@ -285,11 +334,423 @@ class TransactionsQueryServiceTest {
                 assertTrue(dto.getId().contains(customerId)));
     }
 
+    @Test
+    void givenCustomerMonth_whenGetTransactions_thenScansOnlyMonthPrefix() {
+        // Given
+        String customerId = "customer123";
+        int year = 2024;
+        int month = 3;
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        when(countStore.get("customer123:2024-03")).thenReturn(1L);
+        when(store.prefixScan(anyString(), any(StringSerializer.class))).thenReturn(iterator);
+        when(iterator.hasNext()).thenReturn(false);
+
+        // When
+        transactionsQueryService.getTransactions(customerId, year, month, 0, 10, "USD", null);
+
+        // Then
+        verify(store).prefixScan(eq(TransactionKeyCodec.monthPrefix("customer123", 2024, 3)), any(StringSerializer.class));
+        verify(store, never()).all();
+        verify(iterator).close();
+    }
+
+    @Test
+    void givenPageBeyondMonthCount_whenGetTransactions_thenAnswersFromCountStoreOnly() {
+        // Given
+        String customerId = "customer123";
+        int page = 5;
+        int size = 10;
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        when(countStore.get("customer123:2024-03")).thenReturn(42L);
+
+        // When
+        TransactionPageResponse result = transactionsQueryService.getTransactions(
+                customerId, 2024, 3, page, size, "USD", null);
+
+        // Then
+        assertTrue(result.getTransactions().isEmpty());
+        assertEquals(42, result.getPageInfo().getTotalElements());
+        assertEquals(5, result.getPageInfo().getTotalPages());
+        verify(store, never()).prefixScan(anyString(), any(StringSerializer.class));
+    }
+
+    @Test
+    void givenCursorFromPreviousPage_whenGetTransactionsAfter_thenContinuesAfterLastKey() {
+        // Given
+        String customerId = "customer123";
+        int year = 2024;
+        int month = 3;
+        int size = 2;
+        String baseCurrency = "USD";
+
+        List<KeyValue<String, Transaction>> mockTransactions = createMockTransactions(customerId, year, month);
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+
+        setupIteratorMock(mockTransactions);
+        setupExchangeRateServiceMock();
+
+        TransactionPageResponse firstPage = transactionsQueryService.getTransactions(
+                customerId, year, month, 0, size, baseCurrency, null);
+
+        // When
+        TransactionPageResponse result = transactionsQueryService.getTransactionsAfter(
+                customerId, year, month, firstPage.getPageInfo().getNextCursor(), size, baseCurrency, null);
+
+        // Then
+        assertNotNull(firstPage.getPageInfo().getNextCursor());
+        assertEquals(List.of("customer123_tx3", "customer123_tx2"),
+                firstPage.getTransactions().stream().map(TransactionDTO::getId).toList());
+        assertEquals(List.of("customer123_tx1"),
+                result.getTransactions().stream().map(TransactionDTO::getId).toList());
+        assertEquals(3, result.getPageInfo().getTotalElements());
+        assertTrue(result.getPageInfo().isLast());
+        assertFalse(result.getPageInfo().isHasNext());
+        assertNull(result.getPageInfo().getNextCursor());
+    }
+
+    @Test
+    void givenCursorOfAnotherCustomer_whenGetTransactionsAfter_thenThrowsBadRequest() {
+        // Given
+        String cursor = TransactionKeyCodec.encodeCursor(
+                TransactionKeyCodec.encode("customer456", LocalDate.of(2024, 3, 15), "tx1"));
+
+        // When
+        ApiException ex = assertThrows(ApiException.class, () ->
+                transactionsQueryService.getTransactionsAfter("customer123", 2024, 3, cursor, 10, "USD", null));
+
+        // Then
+        assertEquals(400, ex.getHttpCode());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetTransactionsAfter_thenThrowsBadRequest() {
+        // When
+        ApiException ex = assertThrows(ApiException.class, () ->
+                transactionsQueryService.getTransactionsAfter("customer123", 2024, 3, "not*base64", 10, "USD", null));
+
+        // Then
+        assertEquals(400, ex.getHttpCode());
+    }
+
+    @Test
+    void givenCustomerMonth_whenStreamTransactions_thenEmitsEnrichedRowsNewestFirst() {
+        // Given
+        String customerId = "customer123";
+        int year = 2024;
+        int month = 3;
+
+        List<KeyValue<String, Transaction>> allTransactions = new ArrayList<>();
+        allTransactions.addAll(createMockTransactions(customerId, year, month));
+        allTransactions.addAll(createMockTransactions("customer456", year, month));
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+
+        setupIteratorMock(allTransactions);
+        setupExchangeRateServiceMock();
+
+        // When
+        List<List<TransactionDTO>> batches = new ArrayList<>();
+        transactionsQueryService.streamTransactions(customerId, year, month, "USD", batches::add);
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(List.of("customer123_tx3", "customer123_tx2", "customer123_tx1"),
+                batches.get(0).stream().map(TransactionDTO::getId).toList());
+        verify(iterator).close();
+    }
+
+    @Test
+    void givenMonthOwnedBySelf_whenGetTransactions_thenCountsFromLocalStoreWithoutHop() {
+        // Given
+        String customerId = "customer123";
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        when(countStore.get("customer123:2024-03")).thenReturn(42L);
+
+        // When
+        TransactionPageResponse result = transactionsQueryService.getTransactions(
+                customerId, 2024, 3, 5, 10, "USD", null);
+
+        // Then
+        assertEquals(42, result.getPageInfo().getTotalElements());
+        verifyNoInteractions(remoteQueryClient);
+    }
+
+    @Test
+    void givenMaxLag_whenGetTransactions_thenReadsStaleStoreAndReportsLag() {
+        // Given
+        String customerId = "customer123";
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        setupIteratorMock(createMockTransactions(customerId, 2024, 3));
+        setupExchangeRateServiceMock();
+        when(storeRouter.transactionsLag(customerId, 2024, 3)).thenReturn(12L);
+        when(storeRouter.monthCountLag(customerId, 2024, 3)).thenReturn(3L);
+
+        // When
+        TransactionPageResponse result = transactionsQueryService.getTransactions(
+                customerId, 2024, 3, 0, 10, "USD", 50L);
+
+        // Then
+        assertEquals(3, result.getTransactions().size());
+        assertEquals(12L, result.getStoreLag());
+        verify(pageCache, never()).get(any(PageKey.class), any());
+        verify(kafkaStreams, never()).store(argThat(parameters -> !parameters.staleStoresEnabled()));
+    }
+
+    @Test
+    void givenStoreBeyondMaxLag_whenGetTransactions_thenThrowsServiceUnavailable() {
+        // Given
+        when(storeRouter.transactionsLag("customer123", 2024, 3)).thenReturn(500L);
+
+        // When
+        ApiException ex = assertThrows(ApiException.class, () ->
+                transactionsQueryService.getTransactions("customer123", 2024, 3, 0, 10, "USD", 50L));
+
+        // Then
+        assertEquals(503, ex.getHttpCode());
+        verify(kafkaStreams, never()).store(any());
+    }
+
+    @Test
+    void givenDateRangeOverSeveralMonths_whenGetTransactionsBetween_thenPagesAcrossMonthsNewestFirst() {
+        // Given
+        String customerId = "customer123";
+        List<KeyValue<String, Transaction>> allTransactions = new ArrayList<>();
+        allTransactions.addAll(createMockTransactions(customerId, 2024, 1));
+        allTransactions.addAll(createMockTransactions(customerId, 2024, 3));
+        allTransactions.addAll(createMockTransactions("customer456", 2024, 1));
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        setupIteratorMock(allTransactions);
+        setupExchangeRateServiceMock();
+        LocalDate from = LocalDate.of(2024, 1, 10);
+        LocalDate to = LocalDate.of(2024, 3, 20);
+
+        // When
+        TransactionPageResponse firstPage = transactionsQueryService.getTransactionsBetween(
+                customerId, from, to, null, 3, "USD");
+        TransactionPageResponse secondPage = transactionsQueryService.getTransactionsBetween(
+                customerId, from, to, firstPage.getPageInfo().getNextCursor(), 3, "USD");
+
+        // Then
+        // March 30 and January 1 fall outside the range, February is empty
+        assertEquals(List.of(LocalDate.of(2024, 3, 15), LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 30)),
+                firstPage.getTransactions().stream().map(TransactionDTO::getValueDate).toList());
+        assertTrue(firstPage.getPageInfo().isHasNext());
+        assertEquals(List.of(LocalDate.of(2024, 1, 15)),
+                secondPage.getTransactions().stream().map(TransactionDTO::getValueDate).toList());
+        assertFalse(secondPage.getPageInfo().isHasNext());
+        assertNull(secondPage.getPageInfo().getNextCursor());
+    }
+
+    @Test
+    void givenRangeLongerThanAYear_whenGetTransactionsBetween_thenThrowsBadRequest() {
+        // When
+        ApiException ex = assertThrows(ApiException.class, () -> transactionsQueryService.getTransactionsBetween(
+                "customer123", LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1), null, 10, "USD"));
+
+        // Then
+        assertEquals(400, ex.getHttpCode());
+    }
+
+    @Test
+    void givenPageWithRepeatedCurrencyAndDate_whenGetTransactions_thenResolvesRatesInOneBatch() {
+        // Given
+        String customerId = "customer123";
+        List<KeyValue<String, Transaction>> transactions = new ArrayList<>(createMockTransactions(customerId, 2024, 3));
+        Transaction sameDay = Transaction.builder()
+                .id(customerId + "_tx4")
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .valueDate(LocalDate.of(2024, 3, 15))
+                .type(Transaction.TransactionType.CREDIT)
+                .build();
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, sameDay.getValueDate(), sameDay.getId()), sameDay));
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        setupIteratorMock(transactions);
+        setupExchangeRateServiceMock();
+
+        // When
+        TransactionPageResponse result = transactionsQueryService.getTransactions(
+                customerId, 2024, 3, 0, 10, "EUR", null);
+
+        // Then
+        assertEquals(4, result.getTransactions().size());
+        verify(exchangeRateService).getRatesAsync(argThat(keys -> keys.size() == 3), any(RateDeadline.class));
+        verify(exchangeRateService, never()).getRateAsync(anyString(), anyString(), any(LocalDate.class));
+    }
+
+    @Test
+    void givenMonthTotals_whenGetMonthSummary_thenConvertsPerCurrencyAndDayWithoutScanningRows() {
+        // Given
+        String customerId = "customer123";
+        MonthTotals totals = new MonthTotals();
+        createMixedTransactionTypes(customerId, 2024, 3).forEach(kv -> totals.add(kv.value));
+        totals.add(Transaction.builder()
+                .id("eur1")
+                .amount(new BigDecimal("50.00"))
+                .currency("EUR")
+                .valueDate(LocalDate.of(2024, 3, 2))
+                .type(Transaction.TransactionType.CREDIT)
+                .build());
+
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        when(kafkaStreams.store(any())).thenReturn(summaryStore);
+        when(summaryStore.get("customer123:2024-03")).thenReturn(totals);
+        setupExchangeRateServiceMock(key -> "EUR".equals(key.from()) ? new BigDecimal("1.10") : BigDecimal.ONE);
+
+        // When
+        MonthSummary summary = transactionsQueryService.getMonthSummary(customerId, 2024, 3, "USD");
+
+        // Then
+        assertEquals(0, new BigDecimal("355.00").compareTo(summary.getTotalCredits())); // 300 USD + 50 EUR * 1.10
+        assertEquals(0, new BigDecimal("150.00").compareTo(summary.getTotalDebits()));
+        assertEquals(0, new BigDecimal("205.00").compareTo(summary.getNetAmount()));
+        assertEquals(4, summary.getTransactionCount());
+        assertEquals(List.of("EUR", "USD"), summary.getCurrencies().stream().map(CurrencySummary::getCurrency).toList());
+        verify(store, never()).prefixScan(anyString(), any(StringSerializer.class));
+    }
+
+    @Test
+    void givenRatesSlowerThanDeadline_whenGetTransactions_thenCancelsLookupAndAnswersUnconverted() {
+        // Given
+        String customerId = "customer123";
+        CompletableFuture<Map<RateKey, BigDecimal>> lookup = new CompletableFuture<>();
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        setupIteratorMock(createMockTransactions(customerId, 2024, 3));
+        when(exchangeRateService.getRatesAsync(anyCollection(), any(RateDeadline.class))).thenReturn(lookup);
+
+        // When
+        TransactionPageResponse result = transactionsQueryService.getTransactions(
+                customerId, 2024, 3, 0, 10, "EUR", null);
+
+        // Then
+        assertTrue(result.isRatesUnavailable());
+        assertTrue(lookup.isCancelled());
+        assertEquals(3, result.getTransactions().size());
+        assertTrue(result.getTransactions().stream().allMatch(dto -> dto.getConvertedAmount() == null));
+        assertTrue(result.getTransactions().stream().allMatch(dto -> dto.getOriginalAmount() != null));
+        assertNull(result.getSummary().getTotalCredits());
+        assertEquals(3, result.getSummary().getTransactionCount());
+    }
+
+    @Test
+    void givenRatesSlowerThanDeadline_whenStreamTransactions_thenBatchesShareOneRequestDeadline() {
+        // Given
+        List<KeyValue<String, Transaction>> rows = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            String key = TransactionKeyCodec.encode("customer123", LocalDate.of(2024, 3, 1), "tx" + i);
+            rows.add(KeyValue.pair(key, Transaction.builder()
+                    .id("tx" + i)
+                    .amount(new BigDecimal("10.00"))
+                    .currency("USD")
+                    .valueDate(LocalDate.of(2024, 3, 1))
+                    .type(Transaction.TransactionType.CREDIT)
+                    .build()));
+        }
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        setupIteratorMock(rows);
+        when(exchangeRateService.getRatesAsync(anyCollection(), any(RateDeadline.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+
+        // When
+        List<List<TransactionDTO>> batches = new ArrayList<>();
+        transactionsQueryService.streamTransactions("customer123", 2024, 3, "EUR", batches::add);
+
+        // Then
+        ArgumentCaptor<RateDeadline> deadlines = ArgumentCaptor.forClass(RateDeadline.class);
+        verify(exchangeRateService, times(2)).getRatesAsync(anyCollection(), deadlines.capture());
+        assertSame(deadlines.getAllValues().get(0), deadlines.getAllValues().get(1));
+        assertEquals(2, batches.size());
+        assertTrue(batches.get(1).stream().allMatch(dto -> dto.getConvertedAmount() == null));
+    }
+
+    @Test
+    void givenFailingRateLookup_whenGetMonthSummary_thenKeepsCurrencyTotalsWithoutConversion() {
+        // Given
+        String customerId = "customer123";
+        MonthTotals totals = new MonthTotals();
+        createMixedTransactionTypes(customerId, 2024, 3).forEach(kv -> totals.add(kv.value));
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        when(kafkaStreams.store(any())).thenReturn(summaryStore);
+        when(summaryStore.get("customer123:2024-03")).thenReturn(totals);
+        when(exchangeRateService.getRatesAsync(anyCollection(), any(RateDeadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+
+        // When
+        MonthSummary summary = transactionsQueryService.getMonthSummary(customerId, 2024, 3, "EUR");
+
+        // Then
+        assertTrue(summary.isRatesUnavailable());
+        assertNull(summary.getTotalCredits());
+        assertNull(summary.getNetAmount());
+        assertEquals(0, new BigDecimal("300.00").compareTo(summary.getCurrencies().get(0).getTotalCredits()));
+    }
+
+    @Test
+    void givenRateMissingFromAnswer_whenGetMonthSummary_thenLeavesConvertedTotalsOut() {
+        // Given
+        String customerId = "customer123";
+        MonthTotals totals = new MonthTotals();
+        createMixedTransactionTypes(customerId, 2024, 3).forEach(kv -> totals.add(kv.value));
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        when(kafkaStreams.store(any())).thenReturn(summaryStore);
+        when(summaryStore.get("customer123:2024-03")).thenReturn(totals);
+        when(exchangeRateService.getRatesAsync(anyCollection(), any(RateDeadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of()));
+
+        // When
+        MonthSummary summary = transactionsQueryService.getMonthSummary(customerId, 2024, 3, "EUR");
+
+        // Then
+        assertTrue(summary.isRatesUnavailable());
+        assertNull(summary.getTotalCredits());
+        assertEquals(0, new BigDecimal("300.00").compareTo(summary.getCurrencies().get(0).getTotalCredits()));
+    }
+
+    @Test
+    void givenPendingRates_whenGetTransactionsAsync_thenReturnsBeforeRatesAndCompletesWithThem() {
+        // Given
+        String customerId = "customer123";
+        CompletableFuture<Map<RateKey, BigDecimal>> lookup = new CompletableFuture<>();
+        when(streamsFactory.getKafkaStreams()).thenReturn(kafkaStreams);
+        setupStores();
+        setupIteratorMock(createMockTransactions(customerId, 2024, 3));
+        when(exchangeRateService.getRatesAsync(anyCollection(), any(RateDeadline.class))).thenReturn(lookup);
+
+        // When
+        CompletableFuture<TransactionPageResponse> result = transactionsQueryService.getTransactionsAsync(
+                customerId, 2024, 3, 0, 10, "EUR");
+        boolean doneBeforeRates = result.isDone();
+        lookup.complete(Map.of(new RateKey("USD", "EUR", LocalDate.of(2024, 3, 1)), BigDecimal.TEN,
+                new RateKey("USD", "EUR", LocalDate.of(2024, 3, 15)), BigDecimal.TEN,
+                new RateKey("USD", "EUR", LocalDate.of(2024, 3, 30)), BigDecimal.TEN));
+
+        // Then
+        assertFalse(doneBeforeRates);
+        TransactionPageResponse response = result.join();
+        assertFalse(response.isRatesUnavailable());
+        assertEquals(3, response.getTransactions().size());
+    }
+
     private List<KeyValue<String, Transaction>> createMockTransactions(String customerId, int year, int month) {
         List<KeyValue<String, Transaction>> transactions = new ArrayList<>();
 
-        String prefix = customerId + ":" + year + "-" + String.format("%02d", month) + ":";
-
         Transaction t1 = Transaction.builder()
                 .id(customerId + "_tx1")
                 .amount(new BigDecimal("100.00"))
@@ -320,9 +781,9 @@ class TransactionsQueryServiceTest {
                 .type(Transaction.TransactionType.DEBIT)
                 .build();
 
-        transactions.add(new KeyValue<>(prefix + "tx1", t1));
-        transactions.add(new KeyValue<>(prefix + "tx2", t2));
-        transactions.add(new KeyValue<>(prefix + "tx3", t3));
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, t1.getValueDate(), t1.getId()), t1));
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, t2.getValueDate(), t2.getId()), t2));
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, t3.getValueDate(), t3.getId()), t3));
 
         return transactions;
     }
@@ -330,8 +791,6 @@ class TransactionsQueryServiceTest {
     private List<KeyValue<String, Transaction>> createMixedTransactionTypes(String customerId, int year, int month) {
         List<KeyValue<String, Transaction>> transactions = new ArrayList<>();
 
-        String prefix = customerId + ":" + year + "-" + String.format("%02d", month) + ":";
-
         Transaction credit1 = Transaction.builder()
                 .id(customerId + "_credit1")
                 .amount(new BigDecimal("100.00"))
@@ -362,30 +821,57 @@ class TransactionsQueryServiceTest {
                 .type(Transaction.TransactionType.DEBIT)
                 .build();
 
-        transactions.add(new KeyValue<>(prefix + "credit1", credit1));
-        transactions.add(new KeyValue<>(prefix + "credit2", credit2));
-        transactions.add(new KeyValue<>(prefix + "debit1", debit1));
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, credit1.getValueDate(), credit1.getId()), credit1));
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, credit2.getValueDate(), credit2.getId()), credit2));
+        transactions.add(new KeyValue<>(TransactionKeyCodec.encode(customerId, debit1.getValueDate(), debit1.getId()), debit1));
 
         return transactions;
     }
 
+    private void setupStores() {
+        when(kafkaStreams.store(any())).thenAnswer(invocation -> {
+            StoreQueryParameters<?> parameters = invocation.getArgument(0);
+            return StoreConfig.STORE_NAME.equals(parameters.storeName()) ? store : countStore;
+        });
+    }
+
     private void setupIteratorMock(List<KeyValue<String, Transaction>> transactions) {
-        when(iterator.hasNext())
-                .thenReturn(!transactions.isEmpty())
-                .thenReturn(transactions.size() > 1)
-                .thenReturn(transactions.size() > 2)
-                .thenReturn(false);
-
-        if (!transactions.isEmpty()) {
-            when(iterator.next())
-                    .thenReturn(transactions.get(0))
-                    .thenReturn(transactions.size() > 1 ? transactions.get(1) : null)
-                    .thenReturn(transactions.size() > 2 ? transactions.get(2) : null);
-        }
+        // emulate the store: only keys under the scanned prefix, in ascending key order
+        AtomicReference<Iterator<KeyValue<String, Transaction>>> rows = new AtomicReference<>();
+        when(store.prefixScan(anyString(), any(StringSerializer.class))).thenAnswer(invocation -> {
+            String prefix = invocation.getArgument(0);
+            rows.set(transactions.stream()
+                    .filter(kv -> kv.key.startsWith(prefix))
+                    .sorted(Comparator.comparing((KeyValue<String, Transaction> kv) -> kv.key))
+                    .iterator());
+            return iterator;
+        });
+        when(store.range(anyString(), anyString())).thenAnswer(invocation -> {
+            String from = invocation.getArgument(0);
+            String to = invocation.getArgument(1);
+            rows.set(transactions.stream()
+                    .filter(kv -> kv.key.compareTo(from) >= 0 && kv.key.compareTo(to) <= 0)
+                    .sorted(Comparator.comparing((KeyValue<String, Transaction> kv) -> kv.key))
+                    .iterator());
+            return iterator;
+        });
+        when(countStore.get(anyString())).thenAnswer(invocation -> {
+            String monthKey = invocation.getArgument(0);
+            long count = transactions.stream().filter(kv -> TransactionKeyCodec.monthKeyOf(kv.key).equals(monthKey)).count();
+            return count == 0 ? null : count;
+        });
+        when(iterator.hasNext()).thenAnswer(invocation -> rows.get().hasNext());
+        when(iterator.next()).thenAnswer(invocation -> rows.get().next());
     }
 
     private void setupExchangeRateServiceMock() {
-        when(exchangeRateService.getRateAsync(anyString(), anyString(), any(LocalDate.class)))
-                .thenReturn(CompletableFuture.completedFuture(BigDecimal.ONE));
+        setupExchangeRateServiceMock(key -> BigDecimal.ONE);
+    }
+
+    private void setupExchangeRateServiceMock(Function<RateKey, BigDecimal> rate) {
+        when(exchangeRateService.getRatesAsync(anyCollection(), any(RateDeadline.class))).thenAnswer(invocation -> {
+            Collection<RateKey> keys = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(keys.stream().collect(Collectors.toMap(key -> key, rate)));
+        });
     }
 }
\ No newline at end of file
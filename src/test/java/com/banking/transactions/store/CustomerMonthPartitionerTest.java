@@ -0,0 +1,31 @@
+package com.banking.transactions.store;
+
+import org.apache.kafka.clients.producer.internals.BuiltInPartitioner;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CustomerMonthPartitionerTest {
+
+    private final CustomerMonthPartitioner<Object> partitioner = new CustomerMonthPartitioner<>();
+
+    @Test
+    void givenRowsOfOneMonth_whenPartition_thenAllLandOnMonthKeyPartition() {
+        // Given
+        String monthKey = "P-0123456789:2024-03";
+        int expected = BuiltInPartitioner.partitionForKey(monthKey.getBytes(StandardCharsets.UTF_8), 12);
+
+        // When / Then
+        for (int day = 1; day <= 31; day++) {
+            String key = TransactionKeyCodec.encode("P-0123456789", LocalDate.of(2024, 3, day), "tx" + day);
+            assertEquals(Optional.of(Set.of(expected)), partitioner.partitions("topic", key, null, 12));
+        }
+        assertEquals(Optional.of(Set.of(expected)),
+                partitioner.partitions("topic", TransactionKeyCodec.monthPrefix("P-0123456789", 2024, 3), null, 12));
+    }
+}
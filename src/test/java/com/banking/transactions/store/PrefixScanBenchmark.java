@@ -0,0 +1,134 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.config.StoreConfig;
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.processor.api.MockProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Prefix-scan latency of {@code transactions-store} with the Kafka Streams default RocksDB options and with
+ * {@link TransactionsRocksDBConfigSetter}. Not a test; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.banking.transactions.store.PrefixScanBenchmark}.
+ * <p>
+ * Loads {@code customers x months x rows} transactions and flushes them to SST files, then reads the first
+ * page of random customer-months, half of which hold no rows, and prints latency percentiles per setup.
+ */
+public class PrefixScanBenchmark {
+
+    private static final int CUSTOMERS = Integer.getInteger("customers", 20_000);
+    private static final int MONTHS = Integer.getInteger("months", 6);
+    private static final int ROWS_PER_MONTH = Integer.getInteger("rows", 20);
+    private static final int QUERIES = Integer.getInteger("queries", 200_000);
+    private static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        run("kafka streams defaults", null);
+        run("TransactionsRocksDBConfigSetter", TransactionsRocksDBConfigSetter.class);
+    }
+
+    private static void run(String label, Class<?> configSetter) throws Exception {
+        File stateDir = Files.createTempDirectory("prefix-scan-benchmark").toFile();
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "prefix-scan-benchmark");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        if (configSetter != null) {
+            props.put(StreamsConfig.ROCKSDB_CONFIG_SETTER_CLASS_CONFIG, configSetter);
+            // -Dtransactions.rocksdb.* system properties override the setter defaults
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(name -> name.startsWith("transactions.rocksdb."))
+                    .forEach(name -> props.put(name, System.getProperty(name)));
+        }
+        MockProcessorContext<Object, Object> context = new MockProcessorContext<>(props, new TaskId(0, 0), stateDir);
+        KeyValueStore<Bytes, byte[]> store = Stores.persistentKeyValueStore(StoreConfig.STORE_NAME).get();
+        store.init(context.getStateStoreContext(), store);
+        try {
+            load(store);
+            // warm up the cache and the JIT before measuring
+            query(store, QUERIES / 4, new Random(1));
+            long[] latencies = query(store, QUERIES, new Random(2));
+            Arrays.sort(latencies);
+            System.out.printf("%-32s p50 %6.1f us  p99 %6.1f us  p99.9 %7.1f us  mean %6.1f us%n", label,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    Arrays.stream(latencies).average().orElse(0) / 1000);
+        } finally {
+            store.close();
+        }
+    }
+
+    private static void load(KeyValueStore<Bytes, byte[]> store) {
+        Random random = new Random(0);
+        List<KeyValue<Bytes, byte[]>> batch = new ArrayList<>();
+        for (int customer = 0; customer < CUSTOMERS; customer++) {
+            String customerId = customerId(customer);
+            // every other month is empty, so half of the queried customer-months miss
+            for (int month = 1; month <= MONTHS * 2; month += 2) {
+                for (int row = 0; row < ROWS_PER_MONTH; row++) {
+                    Transaction transaction = Transaction.builder()
+                            .id(customer + "-" + month + "-" + row)
+                            .customerId(customerId)
+                            .valueDate(LocalDate.of(2024, month, 1 + random.nextInt(28)))
+                            .amount(BigDecimal.valueOf(random.nextInt(1_000_000), 2))
+                            .currency("EUR")
+                            .accountIban("CH93-0000-0000-0000-0000-0")
+                            .description("benchmark payment")
+                            .type(Transaction.TransactionType.DEBIT)
+                            .build();
+                    batch.add(KeyValue.pair(Bytes.wrap(TransactionKeyCodec.encode(transaction)
+                            .getBytes(StandardCharsets.UTF_8)), TransactionBinaryCodec.encode(transaction)));
+                }
+            }
+            if (batch.size() >= 10_000) {
+                store.putAll(batch);
+                batch.clear();
+            }
+        }
+        store.putAll(batch);
+        store.flush();
+    }
+
+    private static long[] query(KeyValueStore<Bytes, byte[]> store, int queries, Random random) {
+        long[] latencies = new long[queries];
+        long sink = 0;
+        for (int i = 0; i < queries; i++) {
+            String prefix = TransactionKeyCodec.monthPrefix(customerId(random.nextInt(CUSTOMERS)), 2024,
+                    1 + random.nextInt(MONTHS * 2));
+            long start = System.nanoTime();
+            try (var iter = store.prefixScan(prefix, Serdes.String().serializer())) {
+                for (int row = 0; row < PAGE_SIZE && iter.hasNext(); row++) {
+                    sink += iter.next().value.length;
+                }
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return latencies;
+    }
+
+    private static String customerId(int customer) {
+        return String.format("P-%010d", customer);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * sorted.length))] / 1000.0;
+    }
+}
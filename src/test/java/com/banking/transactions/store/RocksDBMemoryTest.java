@@ -0,0 +1,92 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.config.StoreConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RocksDBMemoryTest {
+
+    private static final long CONTAINER_MEMORY = 1L << 30;
+
+    @TempDir
+    Path dbDir;
+
+    @Test
+    void givenBoundedMode_whenCreated_thenBudgetIsFractionOfContainerMemory() {
+        // Given
+        Map<String, Object> configs = Map.of(
+                RocksDBMemory.BOUNDED_CONFIG, "true",
+                RocksDBMemory.BUDGET_FRACTION_CONFIG, "0.2");
+
+        // When
+        RocksDBMemory memory = new RocksDBMemory(configs, CONTAINER_MEMORY);
+
+        // Then
+        assertTrue(memory.isBounded());
+        assertEquals((long) (CONTAINER_MEMORY * 0.2), memory.budget());
+    }
+
+    @Test
+    void givenBoundedModeWithFixedBudget_whenCreated_thenFixedBudgetWins() {
+        // Given
+        Map<String, Object> configs = Map.of(
+                RocksDBMemory.BOUNDED_CONFIG, true,
+                RocksDBMemory.BUDGET_BYTES_CONFIG, 32L << 20);
+
+        // When
+        RocksDBMemory memory = new RocksDBMemory(configs, CONTAINER_MEMORY);
+
+        // Then
+        assertEquals(32L << 20, memory.budget());
+    }
+
+    @Test
+    void givenUnboundedMode_whenCreated_thenOnlyBlockCacheIsShared() {
+        // When
+        RocksDBMemory memory = new RocksDBMemory(Map.of(RocksDBMemory.BLOCK_CACHE_BYTES_CONFIG, "1048576"), CONTAINER_MEMORY);
+
+        // Then
+        assertFalse(memory.isBounded());
+        assertNull(memory.writeBufferManager());
+        assertEquals(1 << 20, memory.budget());
+    }
+
+    @Test
+    void givenBoundedStore_whenWritten_thenMemtablesAreChargedToSharedCache() throws Exception {
+        // Given
+        RocksDBMemory memory = new RocksDBMemory(Map.of(
+                RocksDBMemory.BOUNDED_CONFIG, "true",
+                RocksDBMemory.BUDGET_BYTES_CONFIG, "67108864"), CONTAINER_MEMORY);
+        TransactionsRocksDBConfigSetter setter = new TransactionsRocksDBConfigSetter(memory);
+
+        try (Options options = new Options().setCreateIfMissing(true)) {
+            options.setTableFormatConfig(new BlockBasedTableConfig());
+            setter.setConfig(StoreConfig.STORE_NAME, options, Map.of());
+            assertTrue(((BlockBasedTableConfig) options.tableFormatConfig()).cacheIndexAndFilterBlocks());
+            long before = memory.usage();
+
+            // When
+            try (RocksDB db = RocksDB.open(options, dbDir.toString())) {
+                byte[] value = new byte[1024];
+                for (int i = 0; i < 2048; i++) {
+                    db.put(("P-0123456789:2024-03:79759684:tx" + i).getBytes(), value);
+                }
+
+                // Then
+                assertTrue(memory.usage() >= before + (1 << 20), "memtables should be charged to the cache");
+            }
+            setter.close(StoreConfig.STORE_NAME, options);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionKeyCodecTest {
+
+    @Test
+    void givenTransaction_whenEncode_thenKeyStartsWithMonthPrefix() {
+        // Given
+        Transaction transaction = Transaction.builder()
+                .id("tx1")
+                .customerId("P-0123456789")
+                .valueDate(LocalDate.of(2024, 3, 15))
+                .build();
+
+        // When
+        String key = TransactionKeyCodec.encode(transaction);
+
+        // Then
+        assertEquals(TransactionKeyCodec.monthHash("P-0123456789:2024-03") + ":P-0123456789:2024-03:79759684:tx1", key);
+        assertEquals("P-0123456789:2024-03", TransactionKeyCodec.monthKeyOf(key));
+        assertTrue(key.startsWith(TransactionKeyCodec.monthPrefix("P-0123456789", 2024, 3)));
+    }
+
+    @Test
+    void givenDatesInMonth_whenKeysSortedAscending_thenNewestComesFirst() {
+        // Given
+        String newest = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 31), "a");
+        String middle = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 10), "z");
+        String oldest = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 1), "m");
+
+        // When
+        List<String> sorted = Stream.of(oldest, newest, middle).sorted().toList();
+
+        // Then
+        assertEquals(List.of(newest, middle, oldest), sorted);
+    }
+
+    @Test
+    void givenCustomerAndMonth_whenMonthPrefix_thenPadsMonth() {
+        assertEquals("c1:2024-03", TransactionKeyCodec.monthKey("c1", 2024, 3));
+        assertEquals(TransactionKeyCodec.monthHash("c1:2024-03") + ":c1:2024-03:", TransactionKeyCodec.monthPrefix("c1", 2024, 3));
+    }
+
+    @Test
+    void givenCustomerIdsOfDifferentLengths_whenMonthPrefix_thenHashHasFixedWidth() {
+        // Given
+        List<String> prefixes = List.of(
+                TransactionKeyCodec.monthPrefix("c", 2024, 3),
+                TransactionKeyCodec.monthPrefix("P-0123456789", 2024, 3),
+                TransactionKeyCodec.monthPrefix("customer-with-a-long-id", 2024, 12));
+
+        // Then
+        for (String prefix : prefixes) {
+            assertTrue(prefix.substring(0, TransactionKeyCodec.MONTH_HASH_LENGTH).matches("[0-9a-f]+"));
+            assertEquals(TransactionKeyCodec.SEPARATOR, prefix.charAt(TransactionKeyCodec.MONTH_HASH_LENGTH));
+        }
+    }
+
+    @Test
+    void givenKey_whenEncodeAndDecodeCursor_thenRoundTrips() {
+        // Given
+        String key = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 15), "89d3o179-abcd");
+
+        // When
+        String cursor = TransactionKeyCodec.encodeCursor(key);
+
+        // Then
+        assertEquals(key, TransactionKeyCodec.decodeCursor(cursor));
+    }
+
+    @Test
+    void givenMonthKey_whenSuccessorAndRangeEnd_thenBoundTheRemainingMonthKeys() {
+        // Given
+        String key = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 15), "tx1");
+        String nextKey = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 15), "tx2");
+        String nextMonthKey = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 4, 30), "tx3");
+        String rangeEnd = TransactionKeyCodec.monthRangeEnd("c1", 2024, 3);
+
+        // Then
+        assertTrue(TransactionKeyCodec.successor(key).compareTo(key) > 0);
+        assertTrue(TransactionKeyCodec.successor(key).compareTo(nextKey) < 0);
+        assertTrue(nextKey.compareTo(rangeEnd) < 0);
+        assertTrue(nextMonthKey.compareTo(key) < 0 || nextMonthKey.compareTo(rangeEnd) > 0);
+    }
+
+    @Test
+    void givenDay_whenDayPrefixAndRangeEnd_thenBoundTheKeysOfThatDay() {
+        // Given
+        String key = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 15), "tx1");
+        String newerKey = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 16), "tx2");
+        String olderKey = TransactionKeyCodec.encode("c1", LocalDate.of(2024, 3, 14), "tx3");
+
+        // Then
+        assertTrue(key.startsWith(TransactionKeyCodec.dayPrefix("c1", LocalDate.of(2024, 3, 15))));
+        assertTrue(newerKey.compareTo(TransactionKeyCodec.dayPrefix("c1", LocalDate.of(2024, 3, 15))) < 0);
+        assertTrue(key.compareTo(TransactionKeyCodec.dayRangeEnd("c1", LocalDate.of(2024, 3, 15))) < 0);
+        assertTrue(olderKey.compareTo(TransactionKeyCodec.dayRangeEnd("c1", LocalDate.of(2024, 3, 15))) > 0);
+        assertEquals(LocalDate.of(2024, 3, 15), TransactionKeyCodec.valueDateOf(key));
+    }
+}
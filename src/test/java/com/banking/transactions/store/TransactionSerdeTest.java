@@ -0,0 +1,169 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.dto.Transaction;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionSerdeTest {
+
+    private final TransactionSerde serde = new TransactionSerde();
+
+    @Test
+    void givenTransaction_whenRoundTripped_thenAllFieldsAreKept() {
+        // Given
+        Transaction transaction = transaction();
+
+        // When
+        Transaction decoded = roundTrip(transaction);
+
+        // Then
+        assertEquals(transaction, decoded);
+        assertEquals(2, decoded.getAmount().scale());
+    }
+
+    @Test
+    void givenMissingFields_whenRoundTripped_thenTheyStayNull() {
+        // Given
+        Transaction transaction = Transaction.builder().id("tx1").valueDate(LocalDate.of(1969, 12, 31)).build();
+
+        // When
+        Transaction decoded = roundTrip(transaction);
+
+        // Then
+        assertEquals(transaction, decoded);
+        assertNull(decoded.getAmount());
+        assertNull(decoded.getType());
+    }
+
+    @Test
+    void givenAmountBeyondLongAndUnlistedCurrency_whenRoundTripped_thenValueIsExact() {
+        // Given
+        Transaction transaction = transaction();
+        transaction.setAmount(new BigDecimal("-123456789012345678901234567890.123456"));
+        transaction.setCurrency("XAU");
+
+        // When
+        Transaction decoded = roundTrip(transaction);
+
+        // Then
+        assertEquals(transaction, decoded);
+    }
+
+    @Test
+    void givenLegacyJsonRecord_whenDeserialized_thenTransactionIsRead() {
+        // Given
+        JsonSerializer<Transaction> json = new JsonSerializer<>();
+        json.setAddTypeInfo(false);
+        byte[] data = json.serialize("transactions", transaction());
+
+        // When
+        Transaction decoded = serde.deserializer().deserialize("transactions", data);
+
+        // Then
+        assertEquals(transaction(), decoded);
+    }
+
+    @Test
+    void givenTransaction_whenSerialized_thenRecordIsSmallerThanJson() {
+        // Given
+        JsonSerializer<Transaction> json = new JsonSerializer<>();
+        json.setAddTypeInfo(false);
+
+        // When
+        byte[] binary = serde.serializer().serialize("transactions", transaction());
+
+        // Then
+        assertTrue(binary.length * 2 < json.serialize("transactions", transaction()).length);
+    }
+
+    @Test
+    void givenUnknownVersionOrTruncatedRecord_whenDeserialized_thenSerializationExceptionIsThrown() {
+        // Given
+        byte[] binary = serde.serializer().serialize("transactions", transaction());
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 3);
+
+        // When / Then
+        assertThrows(SerializationException.class,
+                () -> TransactionBinaryCodec.decode(new byte[]{2, 0}));
+        assertThrows(SerializationException.class,
+                () -> serde.deserializer().deserialize("transactions", truncated));
+        assertNull(serde.deserializer().deserialize("transactions", null));
+    }
+
+    @Test
+    void givenLazySerde_whenDeserialized_thenRecordDecodesOnFirstAccess() {
+        // Given
+        TransactionSerde lazy = TransactionSerde.lazy();
+        byte[] binary = lazy.serializer().serialize("transactions", transaction());
+
+        // When
+        Transaction decoded = lazy.deserializer().deserialize("transactions", binary);
+
+        // Then
+        LazyTransaction row = assertInstanceOf(LazyTransaction.class, decoded);
+        assertFalse(row.isDecoded());
+        assertEquals("P-0123456789", row.getCustomerId());
+        assertTrue(row.isDecoded());
+        assertEquals(transaction(), row);
+    }
+
+    @Test
+    void givenLazySerdeAndTruncatedRecord_whenFieldRead_thenSerializationExceptionIsThrownThere() {
+        // Given
+        TransactionSerde lazy = TransactionSerde.lazy();
+        byte[] binary = lazy.serializer().serialize("transactions", transaction());
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 3);
+
+        // When
+        Transaction skipped = lazy.deserializer().deserialize("transactions", truncated);
+
+        // Then
+        assertThrows(SerializationException.class, skipped::getId);
+        assertThrows(SerializationException.class, skipped::getId);
+    }
+
+    @Test
+    void givenLazySerdeAndChangedField_whenRead_thenChangeIsKept() {
+        // Given
+        TransactionSerde lazy = TransactionSerde.lazy();
+        Transaction row = lazy.deserializer().deserialize("transactions",
+                lazy.serializer().serialize("transactions", transaction()));
+
+        // When
+        row.setDescription("corrected");
+
+        // Then
+        assertEquals("corrected", row.getDescription());
+        assertEquals("GBP", row.getCurrency());
+    }
+
+    private Transaction roundTrip(Transaction transaction) {
+        return serde.deserializer().deserialize("transactions",
+                serde.serializer().serialize("transactions", transaction));
+    }
+
+    private Transaction transaction() {
+        return Transaction.builder()
+                .id("89d3o179-abcd-465b-o9ee-e2d5f6ofEld46")
+                .amount(new BigDecimal("100.50"))
+                .currency("GBP")
+                .accountIban("CH93-0000-0000-0000-0000-0")
+                .valueDate(LocalDate.of(2020, 10, 1))
+                .description("Online payment CHF")
+                .customerId("P-0123456789")
+                .type(Transaction.TransactionType.DEBIT)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.banking.transactions.store;
+
+import com.banking.transactions.config.StoreConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.processor.api.MockProcessorContext;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Options;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionsRocksDBConfigSetterTest {
+
+    private final TransactionsRocksDBConfigSetter setter = new TransactionsRocksDBConfigSetter();
+
+    @TempDir
+    Path stateDir;
+
+    @Test
+    void givenTransactionsStore_whenConfigured_thenPrefixBloomAndBlockSizeAreSet() {
+        // Given
+        Map<String, Object> configs = Map.of(TransactionsRocksDBConfigSetter.BLOCK_SIZE_CONFIG, "32768");
+
+        try (Options options = options()) {
+            // When
+            setter.setConfig(StoreConfig.STORE_NAME, options, configs);
+
+            // Then
+            assertEquals(32768, ((BlockBasedTableConfig) options.tableFormatConfig()).blockSize());
+            assertEquals(0.1, options.memtablePrefixBloomSizeRatio());
+            setter.close(StoreConfig.STORE_NAME, options);
+        }
+    }
+
+    @Test
+    void givenPointLookupStore_whenConfigured_thenNoPrefixBloomIsSet() {
+        try (Options options = options()) {
+            // When
+            setter.setConfig(StoreConfig.MONTH_COUNT_STORE_NAME, options, Map.of());
+
+            // Then
+            assertEquals(8 * 1024, ((BlockBasedTableConfig) options.tableFormatConfig()).blockSize());
+            assertEquals(0.0, options.memtablePrefixBloomSizeRatio());
+            setter.close(StoreConfig.MONTH_COUNT_STORE_NAME, options);
+        }
+    }
+
+    @Test
+    void givenShortAndLongCustomerIds_whenFlushedAndScanned_thenEveryRowOfTheMonthIsFound() throws Exception {
+        // Given
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "rocksdb-config-setter-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.ROCKSDB_CONFIG_SETTER_CLASS_CONFIG, TransactionsRocksDBConfigSetter.class);
+        MockProcessorContext<Object, Object> context =
+                new MockProcessorContext<>(props, new TaskId(0, 0), stateDir.toFile());
+        KeyValueStore<Bytes, byte[]> store = Stores.persistentKeyValueStore(StoreConfig.STORE_NAME).get();
+        store.init(context.getStateStoreContext(), store);
+
+        try {
+            // one SST file per round, so seeks go through the prefix blooms of every file
+            for (int round = 0; round < 3; round++) {
+                for (int day = 1; day <= 28; day++) {
+                    for (String customerId : List.of("c", "c1", "P-012345678" + round)) {
+                        String key = TransactionKeyCodec.encode(customerId, LocalDate.of(2024, 3, day), "tx" + round);
+                        store.put(Bytes.wrap(key.getBytes(StandardCharsets.UTF_8)), new byte[]{1});
+                    }
+                }
+                store.flush();
+            }
+
+            // When
+            int monthRows = count(store.prefixScan(TransactionKeyCodec.monthPrefix("c", 2024, 3), new StringSerializer()));
+            int longIdRows = count(store.prefixScan(TransactionKeyCodec.monthPrefix("P-0123456781", 2024, 3),
+                    new StringSerializer()));
+            int rangeRows = count(store.range(
+                    Bytes.wrap(TransactionKeyCodec.dayPrefix("c1", LocalDate.of(2024, 3, 20)).getBytes(StandardCharsets.UTF_8)),
+                    Bytes.wrap(TransactionKeyCodec.monthRangeEnd("c1", 2024, 3).getBytes(StandardCharsets.UTF_8))));
+
+            // Then
+            assertEquals(3 * 28, monthRows);
+            assertEquals(28, longIdRows);
+            assertEquals(3 * 20, rangeRows);
+        } finally {
+            store.close();
+        }
+    }
+
+    private int count(KeyValueIterator<Bytes, byte[]> iter) {
+        try (iter) {
+            int rows = 0;
+            for (; iter.hasNext(); iter.next()) {
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    private Options options() {
+        Options options = new Options();
+        options.setTableFormatConfig(new BlockBasedTableConfig());
+        return options;
+    }
+}
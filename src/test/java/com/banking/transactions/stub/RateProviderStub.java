@@ -0,0 +1,104 @@
+package com.banking.transactions.stub;
+
+import com.banking.transactions.dto.ExchangeRate;
+import com.banking.transactions.dto.RateKey;
+import com.banking.transactions.service.impl.ExchangeRateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the exchange-rate provider, answering {@code POST /rates} with a fixed rate after a
+ * configurable latency. Tests start it on a free port; for a local run start it on its own with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.banking.transactions.stub.RateProviderStub} and point {@code RATE_PROVIDER_URL} at it.
+ */
+@Slf4j
+public class RateProviderStub {
+
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final Duration latency;
+    private final BigDecimal rate;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public RateProviderStub(ObjectMapper objectMapper, int port, Duration latency, BigDecimal rate) {
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.latency = latency;
+        this.rate = rate;
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        new RateProviderStub(objectMapper,
+                Integer.getInteger("port", 8089),
+                Duration.parse(System.getProperty("latency", "PT0.5S")),
+                new BigDecimal(System.getProperty("rate", "1.1")))
+                .start();
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        // a virtual thread per exchange, so the injected latency never queues requests behind each other
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(ExchangeRateService.RATES_PATH, this::handle);
+        server.start();
+        log.info("Rate provider stub listening on {} with {} latency", server.getAddress(), latency);
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Number of provider calls answered so far.
+     */
+    public int getCalls() {
+        return calls.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            RateKey[] keys = objectMapper.readValue(body, RateKey[].class);
+            calls.incrementAndGet();
+            Thread.sleep(latency);
+
+            List<ExchangeRate> rates = Arrays.stream(keys)
+                    .map(key -> new ExchangeRate(key.from(), key.to(), key.date(), rate))
+                    .toList();
+            byte[] response = objectMapper.writeValueAsBytes(rates);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}